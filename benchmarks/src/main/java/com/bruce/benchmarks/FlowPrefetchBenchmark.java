@@ -0,0 +1,102 @@
+package com.bruce.benchmarks;
+
+import com.bruce.Limit;
+import com.bruce.flow.AdaptiveFlowProcessor;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limit.VegasLimit;
+import com.bruce.limiter.SimpleLimiter;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput and per-item latency of {@link AdaptiveFlowProcessor} with an adaptive limit versus fixed
+ * prefetch sizes.  Items are processed by a pool of {@value #WORKERS} workers with a {@value #SERVICE_TIME_MICROS}us
+ * service time, so demand beyond the pool size only adds queueing delay.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 23:50
+ * @Version 1.0
+ */
+public final class FlowPrefetchBenchmark {
+
+    private static final int WORKERS = 8;
+    private static final long SERVICE_TIME_MICROS = 1000;
+    private static final int ITEMS = Integer.getInteger("items", 20000);
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("workers=%d service=%d us items=%d%n", WORKERS, SERVICE_TIME_MICROS, ITEMS);
+        for (int prefetch : new int[]{1, 4, 8, 64, 512}) {
+            run("prefetch " + prefetch, FixedLimit.of(prefetch));
+        }
+        run("adaptive", VegasLimit.newDefault());
+        System.exit(0);
+    }
+
+    private static void run(String name, Limit limit) throws Exception {
+        final ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        final SimpleLimiter<Integer> limiter = SimpleLimiter.newBuilder().limit(limit).build();
+        final long[] latencies = new long[ITEMS];
+        final AtomicInteger index = new AtomicInteger();
+
+        final AdaptiveFlowProcessor<Integer, Integer> processor = AdaptiveFlowProcessor.create(limiter, item -> {
+            final long start = System.nanoTime();
+            return CompletableFuture.supplyAsync(() -> {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(SERVICE_TIME_MICROS));
+                latencies[index.getAndIncrement()] = System.nanoTime() - start;
+                return item;
+            }, workers);
+        });
+
+        final CountDownLatch done = new CountDownLatch(1);
+        processor.subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throwable.printStackTrace();
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+
+        final long start = System.nanoTime();
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < ITEMS; i++) {
+                publisher.submit(i);
+            }
+        }
+        done.await();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        workers.shutdownNow();
+
+        final long[] sorted = Arrays.copyOf(latencies, index.get());
+        Arrays.sort(sorted);
+        System.out.printf("%-14s throughput=%8.0f items/s  mean=%7.2f ms  p99=%7.2f ms  final limit=%d%n",
+                name,
+                sorted.length / seconds,
+                Arrays.stream(sorted).average().orElse(0) / 1e6,
+                sorted[(int)(sorted.length * 0.99)] / 1e6,
+                limiter.getLimit());
+    }
+}
@@ -0,0 +1,93 @@
+package com.bruce.benchmarks;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limiter.HierarchicalLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an acquire/release cycle through a {@link HierarchicalLimiter} as the tree gets deeper and wider.
+ * Limits are fixed so that only the bookkeeping is measured.  With {@code borrow} the leaves have a zero
+ * limit, so every acquire goes through the borrow check, which scans the leaf's siblings.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 21:10
+ * @Version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchicalLimiterBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int depth;
+
+    @Param({"2", "16"})
+    public int fanOut;
+
+    @Param({"false", "true"})
+    public boolean borrow;
+
+    private HierarchicalLimiter<String> limiter;
+
+    private String[] leaves;
+
+    @Setup
+    public void setup() {
+        final HierarchicalLimiter.Builder<String> builder = HierarchicalLimiter.<String>newBuilder("root", FixedLimit.of(Integer.MAX_VALUE))
+                .nodeResolver(name -> name);
+
+        String[] level = {"root"};
+        for (int d = 1; d < depth; d++) {
+            final String[] next = new String[Math.min(level.length * fanOut, 4096)];
+            final int limit = borrow && d == depth - 1 ? 0 : Integer.MAX_VALUE;
+            for (int i = 0; i < next.length; i++) {
+                next[i] = level[i / fanOut] + "/" + (i % fanOut);
+                builder.node(next[i], level[i / fanOut], FixedLimit.of(limit));
+            }
+            level = next;
+        }
+
+        this.leaves = level;
+        this.limiter = builder.build();
+    }
+
+    @Benchmark
+    public void acquireAndRelease() {
+        final String leaf = leaves[ThreadLocalRandom.current().nextInt(leaves.length)];
+        limiter.acquire(leaf).ifPresent(Limiter.Listener::onSuccess);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void acquireAndReleaseContended() {
+        acquireAndRelease();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HierarchicalLimiterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
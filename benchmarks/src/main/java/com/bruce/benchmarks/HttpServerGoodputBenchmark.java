@@ -0,0 +1,124 @@
+package com.bruce.benchmarks;
+
+import com.bruce.httpserver.ConcurrencyLimitFilter;
+import com.bruce.httpserver.HttpServerLimiterBuilder;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Goodput of a JDK HttpServer offered 3x its capacity, with and without {@link ConcurrencyLimitFilter}.
+ * The server has a fixed number of "cores" and a fixed service time; a response counts towards goodput
+ * only if it is a 200 received within the deadline.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 22:30
+ * @Version 1.0
+ */
+public final class HttpServerGoodputBenchmark {
+
+    private static final int CORES = 4;
+    private static final long SERVICE_TIME_MILLIS = 10;
+    private static final int CAPACITY = (int)(CORES * 1000 / SERVICE_TIME_MILLIS);
+    private static final int OFFERED_RATE = CAPACITY * 3;
+    private static final long DEADLINE_MILLIS = 200;
+    private static final int DURATION_SECONDS = Integer.getInteger("duration", 10);
+
+    private static class Result {
+        final AtomicLong good = new AtomicLong();
+        final AtomicLong late = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("capacity=%d rps offered=%d rps deadline=%d ms duration=%d s%n",
+                CAPACITY, OFFERED_RATE, DEADLINE_MILLIS, DURATION_SECONDS);
+        report("no limiter", run(false));
+        report("limiter", run(true));
+        System.exit(0);
+    }
+
+    private static void report(String name, Result result) {
+        System.out.printf("%-12s goodput=%6.1f rps  late=%6d  rejected=%6d  failed=%6d%n",
+                name, result.good.get() / (double)DURATION_SECONDS, result.late.get(), result.rejected.get(), result.failed.get());
+    }
+
+    private static Result run(boolean limited) throws Exception {
+        final Semaphore cores = new Semaphore(CORES, true);
+        final ExecutorService serverExecutor = Executors.newFixedThreadPool(200);
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(serverExecutor);
+        final HttpContext context = server.createContext("/", exchange -> serve(cores, exchange));
+        if (limited) {
+            context.getFilters().add(ConcurrencyLimitFilter.newBuilder(HttpServerLimiterBuilder.newBuilder().build()).build());
+        }
+        server.start();
+
+        final URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        final Result result = new Result();
+        final ExecutorService clients = Executors.newCachedThreadPool();
+        final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / OFFERED_RATE;
+        ticker.scheduleAtFixedRate(() -> clients.execute(() -> call(url, result)), 0, intervalNanos, TimeUnit.NANOSECONDS);
+
+        TimeUnit.SECONDS.sleep(DURATION_SECONDS);
+        ticker.shutdownNow();
+        clients.shutdownNow();
+        clients.awaitTermination(5, TimeUnit.SECONDS);
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        return result;
+    }
+
+    private static void serve(Semaphore cores, HttpExchange exchange) throws IOException {
+        try {
+            cores.acquire();
+            try {
+                TimeUnit.MILLISECONDS.sleep(SERVICE_TIME_MILLIS);
+            } finally {
+                cores.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+
+    private static void call(URL url, Result result) {
+        final long start = System.nanoTime();
+        try {
+            final HttpURLConnection connection = (HttpURLConnection)url.openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(2000);
+            final int status = connection.getResponseCode();
+            try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                while (body != null && body.read() >= 0) {
+                }
+            }
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (status != 200) {
+                result.rejected.incrementAndGet();
+            } else if (elapsedMillis > DEADLINE_MILLIS) {
+                result.late.incrementAndGet();
+            } else {
+                result.good.incrementAndGet();
+            }
+        } catch (IOException e) {
+            result.failed.incrementAndGet();
+        }
+    }
+}
@@ -14,4 +14,11 @@ public interface Limit {
     void notifyOnChange(Consumer<Integer> consumer);
 
     void onSample(long startTime, long rtt, int inflight, boolean didDrop);
+
+    /**
+     * Sample for a request whose relative cost is known. Limits that don't understand cost ignore it.
+     */
+    default void onSample(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        onSample(startTime, rtt, inflight, didDrop);
+    }
 }
@@ -1,5 +1,7 @@
 package com.bruce;
 
+import com.bruce.internal.Preconditions;
+
 import java.util.Optional;
 
 /**
@@ -15,7 +17,41 @@ public interface Limiter<ContextT> {
         void onIgnore();
 
         void onDropped();
+
+        /**
+         * Same as {@link #onSuccess()} but also reports the relative cost of the request (rows scanned,
+         * bytes returned, ...) so that the limit can normalize the RTT sample.
+         */
+        default void onSuccess(double cost) {
+            onSuccess();
+        }
+
+        default void onDropped(double cost) {
+            onDropped();
+        }
+    }
+
+    /**
+     * Listener for a long-lived request such as a server-streaming RPC.  Instead of one sample for the
+     * whole stream, each call to {@link #onProgress()} feeds the latency since the previous progress (or
+     * since the start, i.e. time-to-first-byte) into the limit.  Completing the stream does not sample.
+     */
+    interface StreamListener extends Listener {
+        void onProgress();
     }
 
     Optional<Listener> acquire(ContextT context);
+
+    /**
+     * Acquire several units of concurrency in one call, e.g. for a batch carrying that many items.  The
+     * returned listener releases all of them.  Limiters that don't support weighted acquires only accept
+     * a single permit.
+     */
+    default Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        if (permits == 1) {
+            return acquire(context);
+        }
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support weighted permits");
+    }
 }
@@ -13,6 +13,12 @@ public class MetricIds {
     public static final String MIN_RTT_NAME = "min_rtt";
     public static final String WINDOW_MIN_RTT_NAME = "min_window_rtt";
     public static final String WINDOW_QUEUE_SIZE_NAME = "queue_size";
+    public static final String BACKLOG_SIZE_NAME = "backlog_size";
+    public static final String QUEUE_TIME_NAME = "queue_time";
+    public static final String EXECUTION_TIME_NAME = "execution_time";
+    public static final String STREAM_INFLIGHT_NAME = "stream_inflight";
+    public static final String SHADOW_LIMIT_NAME = "limit.shadow";
+    public static final String SHADOW_REJECTED_NAME = "limit.shadow.rejected";
 
-    private MetircIds() {}
+    private MetricIds() {}
 }
@@ -0,0 +1,295 @@
+package com.bruce.executors;
+
+import com.bruce.Limiter;
+import com.bruce.MetricIds;
+import com.bruce.MetricRegistry;
+import com.bruce.internal.EmptyMetricRegistry;
+import com.bruce.internal.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor that never parks submitters.  Tasks that cannot get a permit from the limiter wait in a bounded
+ * queue and are dispatched as soon as a running task completes; once the queue is full submissions are
+ * rejected.  Only execution time is sampled by the limiter, time spent in the queue is recorded separately.
+ *
+ * <p>The queue is drained when a task is submitted and when one of this executor's tasks completes, so the
+ * limiter should be dedicated to this executor; a permit released elsewhere is not noticed until then.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 11:32
+ * @Version 1.0
+ */
+public final class AdaptiveExecutorService extends AbstractExecutorService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveExecutorService.class);
+
+    public static class Builder {
+        private final Limiter<Void> limiter;
+        private Executor executor;
+        private int maxQueueSize = 1000;
+        private MetricRegistry registry = EmptyMetricRegistry.INSTANCE;
+
+        private Builder(Limiter<Void> limiter) {
+            this.limiter = limiter;
+        }
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder maxQueueSize(int maxQueueSize) {
+            Preconditions.checkArgument(maxQueueSize >= 0, "Queue size must be >= 0");
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        public Builder metricRegistry(MetricRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public AdaptiveExecutorService build() {
+            return new AdaptiveExecutorService(this);
+        }
+    }
+
+    public static Builder newBuilder(Limiter<Void> limiter) {
+        return new Builder(limiter);
+    }
+
+    private static class QueuedTask {
+        private final Runnable command;
+        private final long enqueueTime;
+
+        QueuedTask(Runnable command, long enqueueTime) {
+            this.command = command;
+            this.enqueueTime = enqueueTime;
+        }
+    }
+
+    private final Limiter<Void> limiter;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int maxQueueSize;
+    private final Queue<QueuedTask> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final MetricRegistry.SampleListener queueTimeDistribution;
+    private final MetricRegistry.SampleListener executionTimeDistribution;
+    private final Object terminationLock = new Object();
+    private volatile boolean shutdown;
+
+    private AdaptiveExecutorService(Builder builder) {
+        this.limiter = builder.limiter;
+        this.ownedExecutor = builder.executor == null ? Executors.newCachedThreadPool() : null;
+        this.executor = builder.executor == null ? ownedExecutor : builder.executor;
+        this.maxQueueSize = builder.maxQueueSize;
+
+        this.queueTimeDistribution = builder.registry.registerDistribution(MetricIds.QUEUE_TIME_NAME);
+        this.executionTimeDistribution = builder.registry.registerDistribution(MetricIds.EXECUTION_TIME_NAME);
+        builder.registry.registerGauge(MetricIds.BACKLOG_SIZE_NAME, queueSize::get);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+
+        if (!reserveQueueSlot()) {
+            // Queued tasks go first, so dispatch directly only when none are left waiting
+            drain();
+            if (!reserveQueueSlot()) {
+                if (queue.isEmpty() && tryDispatch(command)) {
+                    return;
+                }
+                throw new RejectedExecutionException("Limit and queue exceeded");
+            }
+        }
+
+        queue.offer(new QueuedTask(command, System.nanoTime()));
+        drain();
+    }
+
+    private boolean reserveQueueSlot() {
+        if (queueSize.incrementAndGet() > maxQueueSize) {
+            queueSize.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean tryDispatch(Runnable command) {
+        final Optional<Limiter.Listener> listener = limiter.acquire(null);
+        if (!listener.isPresent()) {
+            return false;
+        }
+        running.incrementAndGet();
+        dispatch(command, listener.get());
+        return true;
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            final Optional<Limiter.Listener> listener = limiter.acquire(null);
+            if (!listener.isPresent()) {
+                return;
+            }
+
+            final QueuedTask task = queue.poll();
+            if (task == null) {
+                listener.get().onIgnore();
+                return;
+            }
+            running.incrementAndGet();
+            queueSize.decrementAndGet();
+            queueTimeDistribution.addSample(System.nanoTime() - task.enqueueTime);
+            dispatch(task.command, listener.get());
+        }
+        tryTerminate();
+    }
+
+    private void dispatch(Runnable command, Limiter.Listener listener) {
+        try {
+            executor.execute(() -> {
+                final long startTime = System.nanoTime();
+                Throwable failure = null;
+                try {
+                    command.run();
+                    failure = failureOf(command);
+                } catch (RuntimeException e) {
+                    failure = e;
+                } catch (Error e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    onComplete(listener, failure);
+                    executionTimeDistribution.addSample(System.nanoTime() - startTime);
+                    running.decrementAndGet();
+                    drain();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Delegate executor rejected task", e);
+            listener.onDropped();
+            running.decrementAndGet();
+            if (command instanceof Future) {
+                ((Future<?>) command).cancel(false);
+            }
+            tryTerminate();
+        }
+    }
+
+    /**
+     * Tasks from submit and invokeAll are FutureTasks, which capture the task's exception instead of throwing it.
+     */
+    private static Throwable failureOf(Runnable command) {
+        if (!(command instanceof Future) || !((Future<?>) command).isDone()) {
+            return null;
+        }
+        try {
+            ((Future<?>) command).get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (CancellationException e) {
+            return e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+    }
+
+    private static void onComplete(Limiter.Listener listener, Throwable failure) {
+        if (failure == null) {
+            listener.onSuccess();
+        } else if (failure instanceof RejectedExecutionException || failure instanceof TimeoutException) {
+            listener.onDropped();
+        } else {
+            listener.onIgnore();
+        }
+    }
+
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        tryTerminate();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        final List<Runnable> pending = new ArrayList<>();
+        QueuedTask task;
+        while ((task = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            pending.add(task.command);
+        }
+        tryTerminate();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && queueSize.get() == 0 && running.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                terminationLock.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    private void tryTerminate() {
+        if (isTerminated()) {
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveExecutorService [limiter=" + limiter + ", queued=" + queueSize.get() + ", running=" + running.get() + "]";
+    }
+}
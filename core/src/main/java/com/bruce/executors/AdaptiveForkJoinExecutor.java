@@ -0,0 +1,137 @@
+package com.bruce.executors;
+
+import com.bruce.Limiter;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Adapts the number of concurrently running fork-join tasks to the limit.  A task is only forked into the
+ * pool when the limiter grants a permit; otherwise it runs inline in the calling thread, which is exactly
+ * what a fork immediately followed by a join would do on a saturated pool.  Fan-out therefore shrinks
+ * automatically when task latency grows, e.g. because the box is shared with other services.
+ *
+ * <pre>
+ * protected Long compute() {
+ *     ForkJoinTask&lt;Long&gt; left = executor.fork(new SumTask(lo, mid));
+ *     long right = new SumTask(mid, hi).compute();
+ *     return left.join() + right;
+ * }
+ * </pre>
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 12:20
+ * @Version 1.0
+ */
+public final class AdaptiveForkJoinExecutor implements Executor {
+
+    private final Limiter<Void> limiter;
+
+    private final ForkJoinPool pool;
+
+    public AdaptiveForkJoinExecutor(Limiter<Void> limiter) {
+        this(limiter, ForkJoinPool.commonPool());
+    }
+
+    public AdaptiveForkJoinExecutor(Limiter<Void> limiter, ForkJoinPool pool) {
+        this.limiter = limiter;
+        this.pool = pool;
+    }
+
+    private static final class LimitedTask<T> extends ForkJoinTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final ForkJoinTask<T> delegate;
+        private final transient Limiter.Listener listener;
+        private T result;
+
+        LimitedTask(ForkJoinTask<T> delegate, Limiter.Listener listener) {
+            this.delegate = delegate;
+            this.listener = listener;
+        }
+
+        @Override
+        public T getRawResult() {
+            return result;
+        }
+
+        @Override
+        protected void setRawResult(T value) {
+            this.result = value;
+        }
+
+        @Override
+        protected boolean exec() {
+            try {
+                result = delegate.invoke();
+                listener.onSuccess();
+            } catch (RejectedExecutionException e) {
+                listener.onDropped();
+                throw e;
+            } catch (RuntimeException | Error e) {
+                listener.onIgnore();
+                throw e;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Forks the task if a permit is available, otherwise runs it in the calling thread.  Either way the
+     * returned task may be joined, and any exception thrown by the task is reported by join.
+     */
+    public <T> ForkJoinTask<T> fork(ForkJoinTask<T> task) {
+        final Optional<Limiter.Listener> listener = limiter.acquire(null);
+        if (!listener.isPresent()) {
+            task.quietlyInvoke();
+            return task;
+        }
+
+        final LimitedTask<T> limited = new LimitedTask<>(task, listener.get());
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            limited.fork();
+        } else {
+            try {
+                pool.execute(limited);
+            } catch (RuntimeException e) {
+                listener.get().onIgnore();
+                throw e;
+            }
+        }
+        return limited;
+    }
+
+    /**
+     * Submits a callable, typically one running a parallel stream, so that it and the work it forks run
+     * in this pool.  The callable runs in the calling thread when no permit is available.
+     */
+    public <T> ForkJoinTask<T> submit(Callable<T> callable) {
+        return fork(ForkJoinTask.adapt(callable));
+    }
+
+    public <T> T invoke(Callable<T> callable) {
+        return submit(callable).join();
+    }
+
+    public <T> T invoke(ForkJoinTask<T> task) {
+        return fork(task).join();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        fork(ForkJoinTask.adapt(command));
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveForkJoinExecutor [limiter=" + limiter + ", parallelism=" + pool.getParallelism() + "]";
+    }
+}
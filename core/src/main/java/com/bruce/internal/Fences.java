@@ -0,0 +1,75 @@
+package com.bruce.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Memory fences for data that is not accessed through Java fields, such as memory-mapped files shared
+ * between processes.  Uses Unsafe's fences, available since Java 8, through method handles so that no
+ * internal API is referenced at compile time.  Falls back to a volatile write/read pair where Unsafe is
+ * not accessible.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 09:10
+ * @Version 1.0
+ */
+public final class Fences {
+
+    private static final MethodHandle STORE_FENCE;
+    private static final MethodHandle LOAD_FENCE;
+
+    private static volatile int fallback;
+
+    static {
+        MethodHandle storeFence = null;
+        MethodHandle loadFence = null;
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            final Object unsafe = field.get(null);
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            storeFence = lookup.findVirtual(unsafeClass, "storeFence", MethodType.methodType(void.class)).bindTo(unsafe);
+            loadFence = lookup.findVirtual(unsafeClass, "loadFence", MethodType.methodType(void.class)).bindTo(unsafe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            storeFence = null;
+            loadFence = null;
+        }
+        STORE_FENCE = storeFence;
+        LOAD_FENCE = loadFence;
+    }
+
+    /**
+     * Stores before the fence are not reordered with stores after it.
+     */
+    public static void storeFence() {
+        if (STORE_FENCE == null) {
+            fallback = 0;
+            return;
+        }
+        try {
+            STORE_FENCE.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Loads before the fence are not reordered with loads after it.
+     */
+    public static void loadFence() {
+        if (LOAD_FENCE == null) {
+            final int ignore = fallback;
+            return;
+        }
+        try {
+            LOAD_FENCE.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Fences() {}
+}
@@ -4,6 +4,7 @@ import com.bruce.Limit;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 /**
@@ -17,6 +18,8 @@ public abstract class AbstractLimit implements Limit {
 
     private final List<Consumer<Integer>> listeners = new CopyOnWriteArrayList<>();
 
+    private final AtomicReference<Runnable> pendingUpdate = new AtomicReference<>();
+
     protected AbstractLimit(int initialLimit) {
         this.limit = initialLimit;
     }
@@ -33,11 +36,48 @@ public abstract class AbstractLimit implements Limit {
 
     @Override
     public void onSample(long startTime, long rtt, int inflight, boolean didDrop) {
+        applyPendingUpdate();
         setLimit(_update(startTime, rtt, inflight, didDrop));
     }
 
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        applyPendingUpdate();
+        setLimit(_update(startTime, rtt, inflight, didDrop, cost));
+    }
+
+    /**
+     * Runs a change to the state that {@link #_update} works on, such as restoring a snapshot, on the sample
+     * path right before the next sample, so that it does not race with an update in progress.  Changes that
+     * have not been applied yet run in order.  Callers typically also publish the new limit right away, and
+     * the change sets it again in case an update in progress overwrote it.
+     */
+    protected void updateBeforeNextSample(Runnable update) {
+        pendingUpdate.getAndUpdate(pending -> pending == null ? update : () -> {
+            pending.run();
+            update.run();
+        });
+    }
+
+    private void applyPendingUpdate() {
+        if (pendingUpdate.get() != null) {
+            final Runnable update = pendingUpdate.getAndSet(null);
+            if (update != null) {
+                update.run();
+            }
+        }
+    }
+
     protected abstract int _update(long startTime, long rtt, int inflight, boolean didDrop);
 
+    /**
+     * Cost aware variant of {@link #_update(long, long, int, boolean)}.  Ignores the cost by default; limits
+     * that decorate another limit override it to pass the cost on.
+     */
+    protected int _update(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        return _update(startTime, rtt, inflight, didDrop);
+    }
+
     protected synchronized void setLimit(int newLimit) {
         if (newLimit != limit) {
             limit = newLimit;
@@ -0,0 +1,144 @@
+package com.bruce.limit;
+
+import com.bruce.internal.Preconditions;
+import com.bruce.limit.persistence.LimitSnapshot;
+import com.bruce.limit.persistence.Snapshottable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loss based limit using additive increase / multiplicative decrease.  The limit grows by a fixed step for
+ * every successful sample while the limit is being used and is multiplied by the backoff ratio when a
+ * request is dropped or exceeds the timeout.  Drops from requests that started before the last backoff
+ * were sent under the old limit and do not back off again.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 14:48
+ * @Version 1.0
+ */
+public final class AimdLimit extends AbstractLimit implements Snapshottable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AimdLimit.class);
+
+    public static class Builder {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 1000;
+        private double backoffRatio = 0.9;
+        private int increaseBy = 1;
+        private long timeout = Long.MAX_VALUE;
+
+        private Builder() {}
+
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public Builder minLimit(int minLimit) {
+            Preconditions.checkArgument(minLimit >= 1, "minLimit must be >= 1");
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        public Builder maxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        public Builder backoffRatio(double backoffRatio) {
+            Preconditions.checkArgument(backoffRatio >= 0.5 && backoffRatio < 1.0, "Backoff ratio must be in the range [0.5, 1.0)");
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Amount added to the limit for each successful sample while probing for more capacity.
+         */
+        public Builder increaseBy(int increaseBy) {
+            Preconditions.checkArgument(increaseBy >= 1, "Increase must be >= 1");
+            this.increaseBy = increaseBy;
+            return this;
+        }
+
+        /**
+         * Requests slower than the timeout are treated as dropped.
+         */
+        public Builder timeout(long timeout, TimeUnit units) {
+            this.timeout = units.toNanos(timeout);
+            return this;
+        }
+
+        public AimdLimit build() {
+            Preconditions.checkArgument(minLimit <= maxLimit, "minLimit must be <= maxLimit");
+            return new AimdLimit(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static AimdLimit newDefault() {
+        return newBuilder().build();
+    }
+
+    private volatile double estimateLimit;
+
+    private long lastBackoffTime = Long.MIN_VALUE;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private final int increaseBy;
+
+    private final long timeout;
+
+    private AimdLimit(Builder builder) {
+        super(builder.initialLimit);
+        this.estimateLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.increaseBy = builder.increaseBy;
+        this.timeout = builder.timeout;
+    }
+
+    @Override
+    protected int _update(long startTime, long rtt, int inflight, boolean didDrop) {
+        if (didDrop || rtt > timeout) {
+            if (startTime < lastBackoffTime) {
+                return (int)estimateLimit;
+            }
+            lastBackoffTime = startTime + rtt;
+            estimateLimit = Math.max(minLimit, estimateLimit * backoffRatio);
+            LOG.debug("Backoff limit={} rtt={} ms", (int)estimateLimit, TimeUnit.NANOSECONDS.toMicros(rtt) / 1000.0);
+        } else if (inflight * 2 >= estimateLimit) {
+            estimateLimit = Math.min(maxLimit, estimateLimit + increaseBy);
+        }
+        return (int)estimateLimit;
+    }
+
+    @Override
+    public LimitSnapshot snapshot() {
+        return new LimitSnapshot(estimateLimit, 0);
+    }
+
+    @Override
+    public void restore(LimitSnapshot snapshot) {
+        final double limit = Math.max(minLimit, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        estimateLimit = limit;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> estimateLimit = limit);
+    }
+
+    @Override
+    public String toString() {
+        return "AimdLimit [limit=" + getLimit() + "]";
+    }
+}
@@ -0,0 +1,294 @@
+package com.bruce.limit;
+
+import com.bruce.Limit;
+import com.bruce.internal.Preconditions;
+import com.bruce.limit.config.LimitConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Decorator that tunes the parameters of a limit online, through the {@link LimitConfig} the limit was built
+ * with.  Samples are grouped into windows of a fixed number of samples and each window is scored by its
+ * goodput, the rate of samples that were not dropped, penalized by the square of how far the latency
+ * percentile overshot the target.  The parameters are tuned one at a time by hill climbing: a baseline
+ * window with the current values is followed by a trial window with one parameter moved by its step, and
+ * the move is kept only if the trial scored better.  A parameter whose moves fail in both directions has its
+ * step halved.
+ *
+ * <p>Per sample the work is a delegate call, an array store and two atomic increments, without taking a lock.
+ * The sample that fills a window computes its percentile over at most {@link Builder#window(int)} samples
+ * before starting the next one, which bounds the tuning cost; samples arriving in the meantime are not
+ * scored.  Requests rejected by the
+ * limiter never reach the limit, so goodput here is completed work; the config should be dedicated to the
+ * tuner as it overwrites the tuned keys.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 01:05
+ * @Version 1.0
+ */
+public final class AutoTuningLimit implements Limit {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AutoTuningLimit.class);
+
+    public static class Builder {
+        private final List<Parameter> parameters = new ArrayList<>();
+        private long latencyTarget = TimeUnit.MILLISECONDS.toNanos(100);
+        private double percentile = 0.99;
+        private int window = 1000;
+        private double minImprovement = 0.02;
+        private Supplier<Long> clock = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * Tune the config key within [min, max], starting from the initial value with a step of a quarter of
+         * the range.
+         */
+        public Builder parameter(String key, double initial, double min, double max) {
+            Preconditions.checkArgument(min < max, "Min must be < max for " + key);
+            Preconditions.checkArgument(initial >= min && initial <= max, "Initial value must be within [min, max] for " + key);
+            parameters.add(new Parameter(key, initial, min, max));
+            return this;
+        }
+
+        public Builder latencyTarget(long target, TimeUnit units) {
+            Preconditions.checkArgument(target > 0, "Latency target must be > 0");
+            this.latencyTarget = units.toNanos(target);
+            return this;
+        }
+
+        public Builder percentile(double percentile) {
+            Preconditions.checkArgument(percentile > 0.0 && percentile < 1.0, "Percentile must be in the range (0.0, 1.0)");
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Number of samples per evaluation window.
+         */
+        public Builder window(int window) {
+            Preconditions.checkArgument(window >= 10, "Window must be >= 10 samples");
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Relative improvement a trial must show over its baseline to be kept.
+         */
+        public Builder minImprovement(double minImprovement) {
+            Preconditions.checkArgument(minImprovement >= 0.0, "Min improvement must be >= 0");
+            this.minImprovement = minImprovement;
+            return this;
+        }
+
+        public Builder clock(Supplier<Long> clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public AutoTuningLimit build(Limit delegate, LimitConfig config) {
+            Preconditions.checkArgument(!parameters.isEmpty(), "At least one parameter must be specified");
+            return new AutoTuningLimit(this, delegate, config);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private static final class Parameter {
+        private final String key;
+        private final double min;
+        private final double max;
+        private final double minStep;
+        private double value;
+        private double step;
+
+        private Parameter(String key, double value, double min, double max) {
+            this.key = key;
+            this.value = value;
+            this.min = min;
+            this.max = max;
+            this.step = (max - min) / 4;
+            this.minStep = (max - min) / 64;
+        }
+
+        private double moved(int direction) {
+            return Math.max(min, Math.min(max, value + direction * step));
+        }
+    }
+
+    private final Limit delegate;
+    private final LimitConfig config;
+    private final Parameter[] parameters;
+    private final long latencyTarget;
+    private final double percentile;
+    private final double minImprovement;
+    private final Supplier<Long> clock;
+
+    private static final class Window {
+        private final long[] latencies;
+        private final long start;
+        private final AtomicInteger claimed = new AtomicInteger();
+        private final AtomicInteger filled = new AtomicInteger();
+        private final AtomicInteger goodCount = new AtomicInteger();
+
+        private Window(int size, long start) {
+            this.latencies = new long[size];
+            this.start = start;
+        }
+    }
+
+    private final int windowSize;
+    private volatile Window window;
+
+    // Hill climbing state
+    private int current = 0;
+    private int direction = 1;
+    private boolean trial = false;
+    private double baselineScore;
+    private double lastScore = Double.NaN;
+
+    private AutoTuningLimit(Builder builder, Limit delegate, LimitConfig config) {
+        this.delegate = delegate;
+        this.config = config;
+        this.parameters = builder.parameters.toArray(new Parameter[0]);
+        this.latencyTarget = builder.latencyTarget;
+        this.percentile = builder.percentile;
+        this.minImprovement = builder.minImprovement;
+        this.clock = builder.clock;
+        this.windowSize = builder.window;
+        this.window = new Window(windowSize, clock.get());
+
+        for (Parameter parameter : parameters) {
+            config.set(parameter.key, parameter.value);
+        }
+    }
+
+    @Override
+    public int getLimit() {
+        return delegate.getLimit();
+    }
+
+    @Override
+    public void notifyOnChange(Consumer<Integer> consumer) {
+        delegate.notifyOnChange(consumer);
+    }
+
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop) {
+        delegate.onSample(startTime, rtt, inflight, didDrop);
+        record(rtt, didDrop);
+    }
+
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        delegate.onSample(startTime, rtt, inflight, didDrop, cost);
+        record(rtt, didDrop);
+    }
+
+    private void record(long rtt, boolean didDrop) {
+        final Window current = window;
+        final int index = current.claimed.getAndIncrement();
+        if (index >= windowSize) {
+            return;
+        }
+        current.latencies[index] = rtt;
+        if (!didDrop) {
+            current.goodCount.incrementAndGet();
+        }
+        // The increment that fills the window sees every store made before the others
+        if (current.filled.incrementAndGet() == windowSize) {
+            final long now = clock.get();
+            onWindow(score(current, now - current.start));
+            window = new Window(windowSize, now);
+        }
+    }
+
+    private double score(Window window, long elapsed) {
+        final double goodput = window.goodCount.get() * 1e9 / Math.max(1, elapsed);
+        final long[] latencies = window.latencies;
+        Arrays.sort(latencies);
+        final long latency = latencies[Math.min(latencies.length - 1, (int)Math.ceil(percentile * latencies.length) - 1)];
+        if (latency <= latencyTarget) {
+            return goodput;
+        }
+        final double overshoot = (double)latencyTarget / latency;
+        return goodput * overshoot * overshoot;
+    }
+
+    private synchronized void onWindow(double score) {
+        lastScore = score;
+        final Parameter parameter = parameters[current];
+        if (!trial) {
+            baselineScore = score;
+            final double value = parameter.moved(direction);
+            if (value == parameter.value) {
+                reject(parameter);
+                return;
+            }
+            config.set(parameter.key, value);
+            trial = true;
+            return;
+        }
+
+        trial = false;
+        if (score > baselineScore * (1 + minImprovement)) {
+            parameter.value = parameter.moved(direction);
+            LOG.debug("Tuned {}={} score={} baseline={}", parameter.key, parameter.value, score, baselineScore);
+            next();
+        } else {
+            config.set(parameter.key, parameter.value);
+            reject(parameter);
+        }
+    }
+
+    private void reject(Parameter parameter) {
+        if (direction == 1) {
+            direction = -1;
+        } else {
+            parameter.step = Math.max(parameter.minStep, parameter.step / 2);
+            next();
+        }
+    }
+
+    private void next() {
+        current = (current + 1) % parameters.length;
+        direction = 1;
+    }
+
+    public synchronized Map<String, Double> getParameters() {
+        final Map<String, Double> values = new LinkedHashMap<>();
+        for (Parameter parameter : parameters) {
+            values.put(parameter.key, parameter.value);
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Score of the last completed window, or NaN before the first window completes.
+     */
+    public synchronized double getLastScore() {
+        return lastScore;
+    }
+
+    public Limit getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return "AutoTuningLimit [parameters=" + getParameters() + ", score=" + getLastScore() + ", delegate=" + delegate + "]";
+    }
+}
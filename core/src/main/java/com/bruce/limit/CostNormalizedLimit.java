@@ -0,0 +1,109 @@
+package com.bruce.limit;
+
+import com.bruce.Limit;
+import com.bruce.internal.Preconditions;
+
+import java.util.function.Consumer;
+
+/**
+ * Decorator that normalizes RTT samples by the cost reported for each request before handing them to the
+ * delegate.  A sample of cost c is scaled by referenceCost / c, where the reference cost is a moving average
+ * of the reported costs, so that a 200ms scan and a 1ms point read that are both running at their no-load
+ * speed look the same to Vegas/Gradient.  Samples without a cost are passed through unchanged.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 21:40
+ * @Version 1.0
+ */
+public final class CostNormalizedLimit implements Limit {
+
+    public static class Builder {
+        private double smoothing = 0.01;
+        private double maxCostRatio = 1000.0;
+
+        private Builder() {}
+
+        /**
+         * Weight of each new cost in the moving average used as the reference cost.
+         */
+        public Builder smoothing(double smoothing) {
+            Preconditions.checkArgument(smoothing > 0.0 && smoothing <= 1.0, "Smoothing must be in the range (0.0, 1.0]");
+            this.smoothing = smoothing;
+            return this;
+        }
+
+        /**
+         * Bound on how far a single sample may be scaled in either direction.
+         */
+        public Builder maxCostRatio(double maxCostRatio) {
+            Preconditions.checkArgument(maxCostRatio >= 1.0, "Max cost ratio must be >= 1.0");
+            this.maxCostRatio = maxCostRatio;
+            return this;
+        }
+
+        public CostNormalizedLimit build(Limit delegate) {
+            return new CostNormalizedLimit(this, delegate);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static CostNormalizedLimit wrap(Limit delegate) {
+        return newBuilder().build(delegate);
+    }
+
+    private final Limit delegate;
+    private final double smoothing;
+    private final double maxCostRatio;
+    private volatile double referenceCost = Double.NaN;
+
+    private CostNormalizedLimit(Builder builder, Limit delegate) {
+        this.delegate = delegate;
+        this.smoothing = builder.smoothing;
+        this.maxCostRatio = builder.maxCostRatio;
+    }
+
+    @Override
+    public int getLimit() {
+        return delegate.getLimit();
+    }
+
+    @Override
+    public void notifyOnChange(Consumer<Integer> consumer) {
+        delegate.notifyOnChange(consumer);
+    }
+
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop) {
+        delegate.onSample(startTime, rtt, inflight, didDrop);
+    }
+
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        if (!(cost > 0.0) || Double.isInfinite(cost)) {
+            delegate.onSample(startTime, rtt, inflight, didDrop);
+            return;
+        }
+
+        final double reference = updateReferenceCost(cost);
+        final double ratio = Math.max(1.0 / maxCostRatio, Math.min(maxCostRatio, reference / cost));
+        delegate.onSample(startTime, Math.max(1L, (long)(rtt * ratio)), inflight, didDrop);
+    }
+
+    private synchronized double updateReferenceCost(double cost) {
+        final double current = referenceCost;
+        referenceCost = Double.isNaN(current) ? cost : current * (1 - smoothing) + cost * smoothing;
+        return referenceCost;
+    }
+
+    public double getReferenceCost() {
+        return referenceCost;
+    }
+
+    @Override
+    public String toString() {
+        return "CostNormalizedLimit [referenceCost=" + referenceCost + ", delegate=" + delegate + "]";
+    }
+}
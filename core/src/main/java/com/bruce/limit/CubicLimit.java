@@ -0,0 +1,182 @@
+package com.bruce.limit;
+
+import com.bruce.internal.Preconditions;
+import com.bruce.limit.persistence.LimitSnapshot;
+import com.bruce.limit.persistence.Snapshottable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loss based limit modelled on TCP Cubic.  After a drop the limit backs off to {@code wMax * backoffRatio}
+ * and then follows {@code W(t) = C * (t - K)^3 + wMax}: it climbs quickly back towards the limit at which the
+ * last drop happened, plateaus around it, and then probes beyond it at an accelerating rate.  Growth is
+ * driven by elapsed time rather than by the number of samples, so it is independent of request rate.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 15:10
+ * @Version 1.0
+ */
+public final class CubicLimit extends AbstractLimit implements Snapshottable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CubicLimit.class);
+
+    public static class Builder {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 1000;
+        private double backoffRatio = 0.7;
+        private double scale = 0.4;
+        private long timeout = Long.MAX_VALUE;
+
+        private Builder() {}
+
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public Builder minLimit(int minLimit) {
+            Preconditions.checkArgument(minLimit >= 1, "minLimit must be >= 1");
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        public Builder maxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        public Builder backoffRatio(double backoffRatio) {
+            Preconditions.checkArgument(backoffRatio >= 0.5 && backoffRatio < 1.0, "Backoff ratio must be in the range [0.5, 1.0)");
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Cubic scaling constant C, in limit units per second cubed.  Larger values recover and probe faster.
+         */
+        public Builder scale(double scale) {
+            Preconditions.checkArgument(scale > 0, "Scale must be > 0");
+            this.scale = scale;
+            return this;
+        }
+
+        /**
+         * Requests slower than the timeout are treated as dropped.
+         */
+        public Builder timeout(long timeout, TimeUnit units) {
+            this.timeout = units.toNanos(timeout);
+            return this;
+        }
+
+        public CubicLimit build() {
+            Preconditions.checkArgument(minLimit <= maxLimit, "minLimit must be <= maxLimit");
+            return new CubicLimit(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static CubicLimit newDefault() {
+        return newBuilder().build();
+    }
+
+    private volatile double estimateLimit;
+
+    private double maxWindow;
+
+    private long epochStart = Long.MIN_VALUE;
+
+    private double k;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private final double scale;
+
+    private final long timeout;
+
+    private CubicLimit(Builder builder) {
+        super(builder.initialLimit);
+        this.estimateLimit = builder.initialLimit;
+        this.maxWindow = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.scale = builder.scale;
+        this.timeout = builder.timeout;
+    }
+
+    @Override
+    protected int _update(long startTime, long rtt, int inflight, boolean didDrop) {
+        final long now = startTime + rtt;
+
+        if (didDrop || rtt > timeout) {
+            if (startTime < epochStart) {
+                return (int)estimateLimit;
+            }
+            maxWindow = estimateLimit;
+            estimateLimit = Math.max(minLimit, estimateLimit * backoffRatio);
+            startEpoch(now);
+            LOG.debug("Backoff limit={} wMax={} rtt={} ms", (int)estimateLimit, (int)maxWindow, TimeUnit.NANOSECONDS.toMicros(rtt) / 1000.0);
+            return (int)estimateLimit;
+        }
+
+        if (epochStart == Long.MIN_VALUE) {
+            maxWindow = estimateLimit;
+            startEpoch(now);
+            k = 0;
+        }
+
+        if (inflight * 2 < estimateLimit) {
+            return (int)estimateLimit;
+        }
+
+        final double t = (now - epochStart) / 1e9;
+        final double target = scale * Math.pow(t - k, 3) + maxWindow;
+        estimateLimit = Math.max(minLimit, Math.min(maxLimit, Math.max(estimateLimit, Math.min(target, estimateLimit * 1.5))));
+        return (int)estimateLimit;
+    }
+
+    private void startEpoch(long now) {
+        epochStart = now;
+        k = Math.cbrt(maxWindow * (1 - backoffRatio) / scale);
+    }
+
+    @Override
+    public LimitSnapshot snapshot() {
+        return new LimitSnapshot(estimateLimit, 0);
+    }
+
+    @Override
+    public void restore(LimitSnapshot snapshot) {
+        final double limit = Math.max(minLimit, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        estimateLimit = limit;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> {
+            estimateLimit = limit;
+            maxWindow = limit;
+            epochStart = Long.MIN_VALUE;
+        });
+    }
+
+    @Override
+    public void merge(LimitSnapshot snapshot) {
+        final double limit = Math.max(minLimit, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        estimateLimit = limit;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> estimateLimit = limit);
+    }
+
+    @Override
+    public String toString() {
+        return "CubicLimit [limit=" + getLimit() + ", wMax=" + (int)maxWindow + "]";
+    }
+}
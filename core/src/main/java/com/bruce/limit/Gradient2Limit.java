@@ -4,8 +4,11 @@ import com.bruce.MetricIds;
 import com.bruce.MetricRegistry;
 import com.bruce.internal.EmptyMetricRegistry;
 import com.bruce.internal.Preconditions;
+import com.bruce.limit.config.LimitConfig;
 import com.bruce.limit.measurement.ExpAvgMeasurement;
 import com.bruce.limit.measurement.Measurement;
+import com.bruce.limit.persistence.LimitSnapshot;
+import com.bruce.limit.persistence.Snapshottable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,7 +20,7 @@ import java.util.function.Function;
  * @Date: 2019/5/27 20:54
  * @Version 1.0
  */
-public final class Gradient2Limit extends AbstractLimit {
+public final class Gradient2Limit extends AbstractLimit implements Snapshottable {
 
     private static final Logger LOG = LoggerFactory.getLogger(Gradient2Limit.class);
 
@@ -31,6 +34,7 @@ public final class Gradient2Limit extends AbstractLimit {
         private MetricRegistry registry = EmptyMetricRegistry.INSTANCE;
         private int longWindow = 600;
         private double rttTolerance = 1.5;
+        private LimitConfig config = new LimitConfig();
 
         public Builder initialLimit(int initialLimit) {
             this.initialLimit = initialLimit;
@@ -84,6 +88,14 @@ public final class Gradient2Limit extends AbstractLimit {
             return this;
         }
 
+        /**
+         * Live overrides for smoothing, rttTolerance, maxConcurrency, minLimit and queueSize.
+         */
+        public Builder config(LimitConfig config) {
+            this.config = config;
+            return this;
+        }
+
         public Gradient2Limit build() {
             return new Gradient2Limit(this);
         }
@@ -102,17 +114,26 @@ public final class Gradient2Limit extends AbstractLimit {
 
     private volatile double estimateLimit;
 
+    // Returned by snapshot() until a restore has been applied on the sample path
+    private volatile LimitSnapshot restored;
+
     private long lastRtt;
 
     private final Measurement longRtt;
 
-    private final int maxLimit;
+    private final LimitConfig config;
+
+    private final Builder defaults;
+
+    private long configVersion = -1;
 
-    private final int minLimit;
+    private int maxLimit;
 
-    private final Function<Integer, Integer> queueSize;
+    private int minLimit;
 
-    private final double smoothing;
+    private Function<Integer, Integer> queueSize;
+
+    private double smoothing;
 
     private final MetricRegistry.SampleListener longRttSampleListener;
 
@@ -120,17 +141,15 @@ public final class Gradient2Limit extends AbstractLimit {
 
     private final MetricRegistry.SampleListener queueSizeSampleListener;
 
-    private final double tolerance;
+    private double tolerance;
 
     private Gradient2Limit(Builder builder) {
         super(builder.initialLimit);
 
         this.estimateLimit = builder.initialLimit;
-        this.maxLimit = builder.maxConcurrency;
-        this.minLimit = builder.minLimit;
-        this.queueSize = builder.queueSize;
-        this.smoothing = builder.smoothing;
-        this.tolerance = builder.rttTolerance;
+        this.config = builder.config;
+        this.defaults = copy(builder);
+        refreshConfig();
         this.lastRtt = 0;
         this.longRtt = new ExpAvgMeasurement(builder.longWindow, 10);
 
@@ -139,8 +158,36 @@ public final class Gradient2Limit extends AbstractLimit {
         this.queueSizeSampleListener = builder.registry.registerDistribution(MetricIds.WINDOW_QUEUE_SIZE_NAME);
     }
 
+    private static Builder copy(Builder builder) {
+        return new Builder()
+                .maxConcurrency(builder.maxConcurrency)
+                .minLimit(builder.minLimit)
+                .queueSize(builder.queueSize)
+                .smoothing(builder.smoothing)
+                .rttTolerance(builder.rttTolerance);
+    }
+
+    private void refreshConfig() {
+        final LimitConfig.Values values = config.current();
+        if (values.getVersion() == configVersion) {
+            return;
+        }
+        configVersion = values.getVersion();
+        maxLimit = values.getInt(LimitConfig.MAX_CONCURRENCY, defaults.maxConcurrency);
+        minLimit = values.getInt(LimitConfig.MIN_LIMIT, defaults.minLimit);
+        smoothing = values.getDouble(LimitConfig.SMOOTHING, defaults.smoothing);
+        tolerance = Math.max(1.0, values.getDouble(LimitConfig.RTT_TOLERANCE, defaults.rttTolerance));
+        if (values.contains(LimitConfig.QUEUE_SIZE)) {
+            final int fixedQueueSize = values.getInt(LimitConfig.QUEUE_SIZE, 4);
+            queueSize = ignore -> fixedQueueSize;
+        } else {
+            queueSize = defaults.queueSize;
+        }
+    }
+
     @Override
     protected int _update(long startTime, long rtt, int inflight, boolean didDrop) {
+        refreshConfig();
         final double queueSize = this.queueSize.apply((int)this.estimateLimit);
 
         this.lastRtt = rtt;
@@ -188,6 +235,50 @@ public final class Gradient2Limit extends AbstractLimit {
         return units.convert(longRtt.get().longValue(), TimeUnit.NANOSECONDS);
     }
 
+    public LimitConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public LimitSnapshot snapshot() {
+        final LimitSnapshot restored = this.restored;
+        return restored != null ? restored : new LimitSnapshot(estimateLimit, longRtt.get().longValue());
+    }
+
+    @Override
+    public void restore(LimitSnapshot snapshot) {
+        final double limit = Math.max(minLimit, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        final LimitSnapshot restored = new LimitSnapshot(limit, snapshot.getRttNoLoadNanos());
+        this.restored = restored;
+        estimateLimit = limit;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> {
+            estimateLimit = limit;
+            longRtt.reset();
+            if (restored.getRttNoLoadNanos() > 0) {
+                longRtt.add(restored.getRttNoLoadNanos());
+            }
+            this.restored = null;
+        });
+    }
+
+    /**
+     * The snapshot's RTT is added to the long RTT average like one more sample.
+     */
+    @Override
+    public void merge(LimitSnapshot snapshot) {
+        final double limit = Math.max(minLimit, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        final long rttNoLoad = snapshot.getRttNoLoadNanos();
+        estimateLimit = limit;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> {
+            estimateLimit = limit;
+            if (rttNoLoad > 0) {
+                longRtt.add(rttNoLoad);
+            }
+        });
+    }
+
     @Override
     public String toString() {
         return "GradientLimit [limit=" + (int)estimateLimit + "]";
@@ -5,8 +5,11 @@ import com.bruce.MetricRegistry;
 import com.bruce.internal.EmptyMetricRegistry;
 import com.bruce.internal.Preconditions;
 import com.bruce.limit.functions.SquareRootFunction;
+import com.bruce.limit.config.LimitConfig;
 import com.bruce.limit.measurement.Measurement;
-import com.sun.javafx.font.Metrics;
+import com.bruce.limit.measurement.MinimumMeasurement;
+import com.bruce.limit.persistence.LimitSnapshot;
+import com.bruce.limit.persistence.Snapshottable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,7 +22,7 @@ import java.util.function.Function;
  * @Date: 2019/5/27 23:19
  * @Version 1.0
  */
-public class GradientLimit extends AbstractLimit {
+public class GradientLimit extends AbstractLimit implements Snapshottable {
 
     private static final int DISABLE = -1;
 
@@ -35,6 +38,7 @@ public class GradientLimit extends AbstractLimit {
         private MetricRegistry registry = EmptyMetricRegistry.INSTANCE;
         private double rttTolerance = 2.0;
         private int probeInterval = 1000;
+        private LimitConfig config = new LimitConfig();
 
         public Builder initialLimit(int initialLimit) {
             this.initialLimit = initialLimit;
@@ -82,6 +86,14 @@ public class GradientLimit extends AbstractLimit {
             return this;
         }
 
+        /**
+         * Live overrides for smoothing, rttTolerance, maxConcurrency, minLimit, queueSize and probeInterval.
+         */
+        public Builder config(LimitConfig config) {
+            this.config = config;
+            return this;
+        }
+
         public GradientLimit build() {
             return new GradientLimit(this);
         }
@@ -99,19 +111,28 @@ public class GradientLimit extends AbstractLimit {
 
     private volatile double estimateLimit;
 
+    // Returned by snapshot() until a restore has been applied on the sample path
+    private volatile LimitSnapshot restored;
+
     private long lastRtt = 0;
 
     private final Measurement rttNoLoadMeasurement;
 
-    private final int maxLimit;
+    private final LimitConfig config;
+
+    private final Builder defaults;
+
+    private long configVersion = -1;
+
+    private int maxLimit;
 
-    private final int minLimit;
+    private int minLimit;
 
-    private final Function<Integer, Integer> queueSize;
+    private Function<Integer, Integer> queueSize;
 
-    private final double smoothing;
+    private double smoothing;
 
-    private final double rttTolerance;
+    private double rttTolerance;
 
     private final MetricRegistry.SampleListener minRttSampleListener;
 
@@ -119,19 +140,16 @@ public class GradientLimit extends AbstractLimit {
 
     private final MetricRegistry.SampleListener queueSizeSampleListener;
 
-    private final int probeInterval;
+    private int probeInterval;
 
     private int resetRttCounter;
 
     private GradientLimit(Builder builder) {
         super(builder.initialLimit);
         this.estimateLimit = builder.initialLimit;
-        this.maxLimit = builder.maxCoucurrency;
-        this.minLimit = builder.minLimit;
-        this.queueSize = builder.queueSize;
-        this.smoothing = builder.smoothing;
-        this.rttTolerance = builder.rttTolerance;
-        this.probeInterval = builder.probeInterval;
+        this.config = builder.config;
+        this.defaults = copy(builder);
+        refreshConfig();
         this.resetRttCounter = nextProbeCountdown();
         this.rttNoLoadMeasurement = new MinimumMeasurement();
 
@@ -140,6 +158,35 @@ public class GradientLimit extends AbstractLimit {
         this.queueSizeSampleListener = builder.registry.registerDistribution(MetricIds.WINDOW_QUEUE_SIZE_NAME);
     }
 
+    private static Builder copy(Builder builder) {
+        return new Builder()
+                .maxCoucurrency(builder.maxCoucurrency)
+                .minLimit(builder.minLimit)
+                .queueSize(builder.queueSize)
+                .smoothing(builder.smoothing)
+                .rttTolerance(builder.rttTolerance)
+                .probeInterval(builder.probeInterval);
+    }
+
+    private void refreshConfig() {
+        final LimitConfig.Values values = config.current();
+        if (values.getVersion() == configVersion) {
+            return;
+        }
+        configVersion = values.getVersion();
+        maxLimit = values.getInt(LimitConfig.MAX_CONCURRENCY, defaults.maxCoucurrency);
+        minLimit = values.getInt(LimitConfig.MIN_LIMIT, defaults.minLimit);
+        smoothing = values.getDouble(LimitConfig.SMOOTHING, defaults.smoothing);
+        rttTolerance = Math.max(1.0, values.getDouble(LimitConfig.RTT_TOLERANCE, defaults.rttTolerance));
+        probeInterval = values.getInt(LimitConfig.PROBE_INTERVAL, defaults.probeInterval);
+        if (values.contains(LimitConfig.QUEUE_SIZE)) {
+            final int fixedQueueSize = values.getInt(LimitConfig.QUEUE_SIZE, 4);
+            queueSize = ignore -> fixedQueueSize;
+        } else {
+            queueSize = defaults.queueSize;
+        }
+    }
+
     private int nextProbeCountdown() {
         if (probeInterval == DISABLE) {
             return DISABLE;
@@ -149,6 +196,7 @@ public class GradientLimit extends AbstractLimit {
 
     @Override
     protected int _update(final long startTime, final long rtt, final int inflight, final boolean didDrop) {
+        refreshConfig();
         lastRtt = rtt;
         minWindowSampleListener.addSample(rtt);
 
@@ -207,6 +255,47 @@ public class GradientLimit extends AbstractLimit {
         return units.convert(rttNoLoadMeasurement.get().longValue(), TimeUnit.NANOSECONDS);
     }
 
+    public LimitConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public LimitSnapshot snapshot() {
+        final LimitSnapshot restored = this.restored;
+        return restored != null ? restored : new LimitSnapshot(estimateLimit, rttNoLoadMeasurement.get().longValue());
+    }
+
+    @Override
+    public void restore(LimitSnapshot snapshot) {
+        final double limit = Math.max(minLimit, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        final LimitSnapshot restored = new LimitSnapshot(limit, snapshot.getRttNoLoadNanos());
+        this.restored = restored;
+        estimateLimit = limit;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> {
+            estimateLimit = limit;
+            rttNoLoadMeasurement.reset();
+            if (restored.getRttNoLoadNanos() > 0) {
+                rttNoLoadMeasurement.add(restored.getRttNoLoadNanos());
+            }
+            this.restored = null;
+        });
+    }
+
+    @Override
+    public void merge(LimitSnapshot snapshot) {
+        final double limit = Math.max(minLimit, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        final long rttNoLoad = snapshot.getRttNoLoadNanos();
+        estimateLimit = limit;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> {
+            estimateLimit = limit;
+            if (rttNoLoad > 0) {
+                rttNoLoadMeasurement.add(rttNoLoad);
+            }
+        });
+    }
+
     @Override
     public String toString() {
         return "GradientLimit [limit=" + (int)estimateLimit +
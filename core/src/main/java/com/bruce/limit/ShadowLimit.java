@@ -0,0 +1,259 @@
+package com.bruce.limit;
+
+import com.bruce.Limit;
+import com.bruce.MetricIds;
+import com.bruce.MetricRegistry;
+import com.bruce.internal.EmptyMetricRegistry;
+import com.bruce.internal.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Decorator that enforces the primary limit while replaying every sample into one or more shadow limits
+ * on a background executor, so that candidate algorithms can be compared against live traffic without
+ * affecting it.  For each shadow the would-be limit is tracked along with the number of sampled requests
+ * it would have rejected, i.e. requests that started with more requests in flight than the shadow allowed.
+ *
+ * <p>Inflight is shaped by the primary limit, so a shadow that is more permissive than the primary will
+ * never show rejections; compare the would-be limits for that case.  Samples are dropped and counted if
+ * the shadows fall more than {@link Builder#maxPending(int)} samples behind.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 00:20
+ * @Version 1.0
+ */
+public final class ShadowLimit implements Limit {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShadowLimit.class);
+
+    public static class Builder {
+        private final Map<String, Limit> shadows = new LinkedHashMap<>();
+        private Executor executor;
+        private int maxPending = 10_000;
+        private MetricRegistry registry = EmptyMetricRegistry.INSTANCE;
+
+        private Builder() {}
+
+        public Builder shadow(String name, Limit limit) {
+            Preconditions.checkArgument(!shadows.containsKey(name), "Duplicate shadow " + name);
+            shadows.put(name, limit);
+            return this;
+        }
+
+        /**
+         * Executor on which samples are replayed into the shadows.  Defaults to a shared daemon thread.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder maxPending(int maxPending) {
+            Preconditions.checkArgument(maxPending > 0, "Max pending must be > 0");
+            this.maxPending = maxPending;
+            return this;
+        }
+
+        public Builder metricRegistry(MetricRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public ShadowLimit build(Limit primary) {
+            Preconditions.checkArgument(!shadows.isEmpty(), "At least one shadow must be specified");
+            return new ShadowLimit(this, primary);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private static final class DefaultExecutor {
+        private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "shadow-limit");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static final class Shadow {
+        private final String name;
+        private final Limit limit;
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Shadow(String name, Limit limit) {
+            this.name = name;
+            this.limit = limit;
+        }
+
+        private void onSample(Sample sample) {
+            // A request would have been rejected by the shadow if those already inflight reached its limit
+            if (sample.inflight > limit.getLimit()) {
+                rejected.incrementAndGet();
+            }
+            samples.incrementAndGet();
+            if (Double.isNaN(sample.cost)) {
+                limit.onSample(sample.startTime, sample.rtt, sample.inflight, sample.didDrop);
+            } else {
+                limit.onSample(sample.startTime, sample.rtt, sample.inflight, sample.didDrop, sample.cost);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Limit getLimitAlgorithm() {
+            return limit;
+        }
+
+        public int getLimit() {
+            return limit.getLimit();
+        }
+
+        public long getSampleCount() {
+            return samples.get();
+        }
+
+        public long getRejectedCount() {
+            return rejected.get();
+        }
+
+        @Override
+        public String toString() {
+            return "Shadow [name=" + name + ", limit=" + getLimit() + ", rejected=" + rejected.get() + "/" + samples.get() + "]";
+        }
+    }
+
+    private static final class Sample {
+        final long startTime;
+        final long rtt;
+        final int inflight;
+        final boolean didDrop;
+        final double cost;
+
+        Sample(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+            this.startTime = startTime;
+            this.rtt = rtt;
+            this.inflight = inflight;
+            this.didDrop = didDrop;
+            this.cost = cost;
+        }
+    }
+
+    private final Limit primary;
+    private final List<Shadow> shadows;
+    private final Executor executor;
+    private final int maxPending;
+    private final Queue<Sample> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong droppedSamples = new AtomicLong();
+
+    private ShadowLimit(Builder builder, Limit primary) {
+        this.primary = primary;
+        this.executor = builder.executor != null ? builder.executor : DefaultExecutor.INSTANCE;
+        this.maxPending = builder.maxPending;
+
+        final List<Shadow> shadows = new ArrayList<>();
+        builder.shadows.forEach((name, limit) -> {
+            final Shadow shadow = new Shadow(name, limit);
+            builder.registry.registerGauge(MetricIds.SHADOW_LIMIT_NAME, shadow::getLimit, "shadow", name);
+            builder.registry.registerGauge(MetricIds.SHADOW_REJECTED_NAME, shadow::getRejectedCount, "shadow", name);
+            shadows.add(shadow);
+        });
+        this.shadows = Collections.unmodifiableList(shadows);
+    }
+
+    @Override
+    public int getLimit() {
+        return primary.getLimit();
+    }
+
+    @Override
+    public void notifyOnChange(Consumer<Integer> consumer) {
+        primary.notifyOnChange(consumer);
+    }
+
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop) {
+        primary.onSample(startTime, rtt, inflight, didDrop);
+        enqueue(new Sample(startTime, rtt, inflight, didDrop, Double.NaN));
+    }
+
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        primary.onSample(startTime, rtt, inflight, didDrop, cost);
+        enqueue(new Sample(startTime, rtt, inflight, didDrop, cost));
+    }
+
+    private void enqueue(Sample sample) {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            droppedSamples.incrementAndGet();
+            return;
+        }
+        pending.offer(sample);
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                // No drain is running, so let the next sample schedule one; queued samples are kept
+                wip.set(0);
+                LOG.warn("Failed to schedule shadow limit update", e);
+            }
+        }
+    }
+
+    private void drain() {
+        do {
+            Sample sample;
+            while ((sample = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                for (Shadow shadow : shadows) {
+                    try {
+                        shadow.onSample(sample);
+                    } catch (RuntimeException e) {
+                        LOG.warn("Shadow {} failed to process sample", shadow.name, e);
+                    }
+                }
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    public Limit getPrimary() {
+        return primary;
+    }
+
+    public List<Shadow> getShadows() {
+        return shadows;
+    }
+
+    /**
+     * Number of samples that were not replayed because the shadows had fallen too far behind.
+     */
+    public long getDroppedSampleCount() {
+        return droppedSamples.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ShadowLimit [primary=" + primary + ", shadows=" + shadows + "]";
+    }
+}
@@ -45,5 +45,14 @@ public class TracingLimitDecorator implements Limit {
         delegate.onSample(startTime, rtt, inflight, didDrop);
     }
 
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        LOG.debug("maxInflight={} minRtt={} ms cost={}",
+                inflight,
+                TimeUnit.NANOSECONDS.toMicros(rtt)/1000.0,
+                cost);
+        delegate.onSample(startTime, rtt, inflight, didDrop, cost);
+    }
+
 
 }
@@ -4,7 +4,10 @@ import com.bruce.MetricIds;
 import com.bruce.MetricRegistry;
 import com.bruce.internal.EmptyMetricRegistry;
 import com.bruce.internal.Preconditions;
+import com.bruce.limit.config.LimitConfig;
 import com.bruce.limit.functions.Log10RootFunction;
+import com.bruce.limit.persistence.LimitSnapshot;
+import com.bruce.limit.persistence.Snapshottable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,7 +20,7 @@ import java.util.function.Function;
  * @Date: 2019/5/28 15:07
  * @Version 1.0
  */
-public class VegasLimit extends AbstractLimit {
+public class VegasLimit extends AbstractLimit implements Snapshottable {
 
     private static final Logger LOG = LoggerFactory.getLogger(VegasLimit.class);
 
@@ -35,6 +38,7 @@ public class VegasLimit extends AbstractLimit {
         private Function<Double, Double> increaseFunc = (limit) -> limit + LOG10.apply(limit.intValue());
         private Function<Double, Double> decreaseFunc = (limit) -> limit - LOG10.apply(limit.intValue());
         private int probeMultiplier = 30;
+        private LimitConfig config = new LimitConfig();
 
         private Builder() {}
 
@@ -99,6 +103,14 @@ public class VegasLimit extends AbstractLimit {
             return this;
         }
 
+        /**
+         * Live overrides for smoothing, maxConcurrency, probeMultiplier and fixed alpha/beta.
+         */
+        public Builder config(LimitConfig config) {
+            this.config = config;
+            return this;
+        }
+
         public VegasLimit build() {
             return new VegasLimit(this);
         }
@@ -117,35 +129,68 @@ public class VegasLimit extends AbstractLimit {
 
     private volatile long rtt_noload = 0;
 
-    private final int maxLimit;
-    private final double smoothing;
-    private final Function<Integer, Integer> alphaFunc;
-    private final Function<Integer, Integer> betaFunc;
+    private final LimitConfig config;
+    private final Builder defaults;
+    private long configVersion = -1;
+    private int maxLimit;
+    private double smoothing;
+    private int probeMultiplier;
+    private Function<Integer, Integer> alphaFunc;
+    private Function<Integer, Integer> betaFunc;
     private final Function<Integer, Integer> thresholdFunc;
     private final Function<Double, Double> increaseFunc;
     private final Function<Double, Double> decreaseFunc;
     private final MetricRegistry.SampleListener rttSampleListener;
-    private final int probeMultiplier;
     private int probeCount = 0;
     private double probeJitter;
 
     private VegasLimit(Builder builder) {
         super(builder.initialLimit);
         this.estimateLimit = builder.initialLimit;
-        this.maxLimit = builder.maxConcurrency;
-        this.alphaFunc = builder.alphaFunc;
-        this.betaFunc = builder.betaFunc;
+        this.config = builder.config;
+        this.defaults = copy(builder);
         this.increaseFunc = builder.increaseFunc;
         this.decreaseFunc = builder.decreaseFunc;
         this.thresholdFunc = builder.thresholdFunc;
-        this.smoothing = builder.smoothing;
-        this.probeMultiplier = builder.probeMultiplier;
 
+        refreshConfig();
         resetProbeJitter();
 
         this.rttSampleListener = builder.registry.registerDistribution(MetricIds.MIN_RTT_NAME);
     }
 
+    private static Builder copy(Builder builder) {
+        return new Builder()
+                .maxConcurrency(builder.maxConcurrency)
+                .smoothing(builder.smoothing)
+                .probeMultiplier(builder.probeMultiplier)
+                .alpha(builder.alphaFunc)
+                .beta(builder.betaFunc);
+    }
+
+    private void refreshConfig() {
+        final LimitConfig.Values values = config.current();
+        if (values.getVersion() == configVersion) {
+            return;
+        }
+        configVersion = values.getVersion();
+        maxLimit = values.getInt(LimitConfig.MAX_CONCURRENCY, defaults.maxConcurrency);
+        smoothing = values.getDouble(LimitConfig.SMOOTHING, defaults.smoothing);
+        probeMultiplier = values.getInt(LimitConfig.PROBE_MULTIPLIER, defaults.probeMultiplier);
+        if (values.contains(LimitConfig.ALPHA)) {
+            final int alpha = values.getInt(LimitConfig.ALPHA, 3);
+            alphaFunc = ignore -> alpha;
+        } else {
+            alphaFunc = defaults.alphaFunc;
+        }
+        if (values.contains(LimitConfig.BETA)) {
+            final int beta = values.getInt(LimitConfig.BETA, 6);
+            betaFunc = ignore -> beta;
+        } else {
+            betaFunc = defaults.betaFunc;
+        }
+    }
+
     private void resetProbeJitter() {
         probeJitter = ThreadLocalRandom.current().nextDouble(0.5, 1);
     }
@@ -158,6 +203,7 @@ public class VegasLimit extends AbstractLimit {
     protected int _update(long startTime, long rtt, int inflight, boolean didDrop) {
 
         Preconditions.checkArgument(rtt > 0, "rtt must be > 0 but got " + rtt);
+        refreshConfig();
 
         probeCount++;
         if (shouldProbe()) {
@@ -216,6 +262,43 @@ public class VegasLimit extends AbstractLimit {
         return (int)estimateLimit;
     }
 
+    public LimitConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public LimitSnapshot snapshot() {
+        return new LimitSnapshot(estimateLimit, rtt_noload);
+    }
+
+    @Override
+    public void restore(LimitSnapshot snapshot) {
+        final double limit = Math.max(1, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        final long rttNoLoad = snapshot.getRttNoLoadNanos();
+        estimateLimit = limit;
+        rtt_noload = rttNoLoad;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> {
+            estimateLimit = limit;
+            rtt_noload = rttNoLoad;
+            probeCount = 0;
+        });
+    }
+
+    @Override
+    public void merge(LimitSnapshot snapshot) {
+        final double limit = Math.max(1, Math.min(maxLimit, snapshot.getEstimateLimit()));
+        final long rttNoLoad = snapshot.getRttNoLoadNanos();
+        estimateLimit = limit;
+        setLimit((int)limit);
+        updateBeforeNextSample(() -> {
+            estimateLimit = limit;
+            if (rttNoLoad > 0) {
+                rtt_noload = rttNoLoad;
+            }
+        });
+    }
+
     @Override
     public String toString() {
         return "VegasLimit [limit=" + getLimit() +
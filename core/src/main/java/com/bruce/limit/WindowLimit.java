@@ -6,8 +6,6 @@ import com.bruce.limit.window.AverageSampleWindowFactory;
 import com.bruce.limit.window.SampleWindow;
 import com.bruce.limit.window.SampleWindowFactory;
 
-import javax.swing.plaf.PanelUI;
-import java.sql.Time;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -72,6 +70,8 @@ public class WindowLimit implements Limit {
 
     private volatile long nextUpdateTime = 0;
 
+    private volatile long lastRtt = 0;
+
     private final long minWindowTime;
 
     private final long maxWindowTIme;
@@ -124,6 +124,7 @@ public class WindowLimit implements Limit {
                     nextUpdateTime = endTime + Math.min(Math.max(current.getCandidateRttNanos() * 2, minWindowTime), maxWindowTIme);
 
                     if (isWindowReady(current)) {
+                        lastRtt = current.getTrackedRttNanos();
                         delegate.onSample(startTime, current.getTrackedRttNanos(), current.getMaxInflight(), current.didDrop());
                     }
                 }
@@ -131,6 +132,20 @@ public class WindowLimit implements Limit {
         }
     }
 
+    /**
+     * The cost is not forwarded: the delegate sees one sample per window, aggregated from requests of mixed
+     * cost.  Wrap the window itself in a {@link CostNormalizedLimit} instead, so that each request is
+     * normalized before it is aggregated.
+     */
+    @Override
+    public void onSample(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        onSample(startTime, rtt, inflight, didDrop);
+    }
+
+    public long getLastRtt(TimeUnit units) {
+        return units.convert(lastRtt, TimeUnit.NANOSECONDS);
+    }
+
     private boolean isWindowReady(SampleWindow sample) {
         return sample.getCandidateRttNanos() < Long.MAX_VALUE && sample.getSampleCount() >= windowSize;
     }
@@ -0,0 +1,143 @@
+package com.bruce.limit.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live tuning parameters for a limit algorithm.  Values are kept in an immutable, versioned snapshot that
+ * is swapped atomically, so an update touching several parameters is seen all at once.  Limits check the
+ * version on every sample and only re-read their parameters when it changed; nothing on the sample path
+ * takes a lock and the learned estimate is kept.  Parameters that are not set fall back to the values
+ * given to the limit's builder.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 00:40
+ * @Version 1.0
+ */
+public final class LimitConfig {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LimitConfig.class);
+
+    public static final String SMOOTHING = "smoothing";
+    public static final String RTT_TOLERANCE = "rttTolerance";
+    public static final String MAX_CONCURRENCY = "maxConcurrency";
+    public static final String MIN_LIMIT = "minLimit";
+    public static final String QUEUE_SIZE = "queueSize";
+    public static final String PROBE_MULTIPLIER = "probeMultiplier";
+    public static final String PROBE_INTERVAL = "probeInterval";
+    public static final String ALPHA = "alpha";
+    public static final String BETA = "beta";
+
+    public static final class Values {
+        private final Map<String, String> values;
+        private final long version;
+
+        private Values(Map<String, String> values, long version) {
+            this.values = values;
+            this.version = version;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public boolean contains(String key) {
+            return values.containsKey(key);
+        }
+
+        public String get(String key) {
+            return values.get(key);
+        }
+
+        public double getDouble(String key, double defaultValue) {
+            final String value = values.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Ignoring invalid value {}={}", key, value);
+                return defaultValue;
+            }
+        }
+
+        /**
+         * Fractional values are rounded, so that values written by a tuner as doubles can be read back.
+         */
+        public int getInt(String key, int defaultValue) {
+            final double value = getDouble(key, defaultValue);
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                LOG.warn("Ignoring invalid value {}={}", key, values.get(key));
+                return defaultValue;
+            }
+            return (int)Math.round(value);
+        }
+
+        public Map<String, String> asMap() {
+            return values;
+        }
+
+        @Override
+        public String toString() {
+            return "LimitConfig " + values + " v" + version;
+        }
+    }
+
+    private final AtomicReference<Values> current = new AtomicReference<>(new Values(Collections.<String, String>emptyMap(), 0));
+
+    public Values current() {
+        return current.get();
+    }
+
+    /**
+     * Replace all values at once.  Keys that are not present revert to the builder's values.
+     */
+    public void update(Map<String, ?> values) {
+        final Map<String, String> copy = new HashMap<>();
+        values.forEach((key, value) -> copy.put(key, String.valueOf(value)));
+        final Map<String, String> next = Collections.unmodifiableMap(copy);
+
+        Values previous;
+        do {
+            previous = current.get();
+            if (previous.values.equals(next)) {
+                return;
+            }
+        } while (!current.compareAndSet(previous, new Values(next, previous.version + 1)));
+        LOG.info("Updated {}", next);
+    }
+
+    public void set(String key, Object value) {
+        Values previous;
+        Map<String, String> next;
+        do {
+            previous = current.get();
+            next = new HashMap<>(previous.values);
+            next.put(key, String.valueOf(value));
+        } while (!current.compareAndSet(previous, new Values(Collections.unmodifiableMap(next), previous.version + 1)));
+    }
+
+    public void remove(String key) {
+        Values previous;
+        Map<String, String> next;
+        do {
+            previous = current.get();
+            if (!previous.values.containsKey(key)) {
+                return;
+            }
+            next = new HashMap<>(previous.values);
+            next.remove(key);
+        } while (!current.compareAndSet(previous, new Values(Collections.unmodifiableMap(next), previous.version + 1)));
+    }
+
+    @Override
+    public String toString() {
+        return current.get().toString();
+    }
+}
@@ -0,0 +1,147 @@
+package com.bruce.limit.config;
+
+import com.bruce.internal.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls a local properties file and pushes its values into registered {@link LimitConfig}s.  Each config
+ * is registered under a prefix, so one file can tune several limits:
+ * <pre>
+ * api.smoothing=0.1
+ * api.maxConcurrency=400
+ * batch.queueSize=2
+ * </pre>
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 00:40
+ * @Version 1.0
+ */
+public final class PropertiesConfigWatcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropertiesConfigWatcher.class);
+
+    public static class Builder {
+        private Path file;
+        private long intervalMillis = TimeUnit.SECONDS.toMillis(5);
+
+        private Builder() {}
+
+        public Builder file(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        public Builder interval(long interval, TimeUnit units) {
+            Preconditions.checkArgument(interval > 0, "Interval must be > 0");
+            this.intervalMillis = units.toMillis(interval);
+            return this;
+        }
+
+        public PropertiesConfigWatcher build() {
+            Preconditions.checkArgument(file != null, "Properties file must be specified");
+            return new PropertiesConfigWatcher(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private final Path file;
+    private final Map<String, LimitConfig> configs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private volatile Properties properties = new Properties();
+    private FileTime lastModified;
+    private long lastSize = -1;
+
+    private PropertiesConfigWatcher(Builder builder) {
+        this.file = builder.file;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "limit-config-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloadQuietly();
+        executor.scheduleWithFixedDelay(this::reloadQuietly, builder.intervalMillis, builder.intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start pushing the values under {@code prefix.} to the config, and apply the current ones immediately.
+     */
+    public LimitConfig register(String prefix, LimitConfig config) {
+        configs.put(prefix, config);
+        apply(prefix, config, properties);
+        return config;
+    }
+
+    public void unregister(String prefix) {
+        configs.remove(prefix);
+    }
+
+    /**
+     * Read the file now if it changed since the last read.
+     */
+    public synchronized void reload() throws IOException {
+        final FileTime modified;
+        final long size;
+        try {
+            modified = Files.getLastModifiedTime(file);
+            size = Files.size(file);
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        if (modified.equals(lastModified) && size == lastSize) {
+            return;
+        }
+
+        final Properties loaded = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            loaded.load(reader);
+        }
+        lastModified = modified;
+        lastSize = size;
+        properties = loaded;
+        configs.forEach((prefix, config) -> apply(prefix, config, loaded));
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to reload {}", file, e);
+        }
+    }
+
+    private static void apply(String prefix, LimitConfig config, Properties properties) {
+        final String start = prefix + ".";
+        final Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(start)) {
+                values.put(name.substring(start.length()), properties.getProperty(name));
+            }
+        }
+        config.update(values);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,28 @@
+package com.bruce.limit.peer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory transport for tests and single process setups; all nodes sharing the instance see each other.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 19:07
+ * @Version 1.0
+ */
+public final class LoopbackPeerTransport implements PeerTransport {
+
+    private final Map<String, PeerSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(PeerSummary summary) {
+        summaries.put(summary.getNodeId(), summary);
+    }
+
+    @Override
+    public Collection<PeerSummary> receive() {
+        return new ArrayList<>(summaries.values());
+    }
+}
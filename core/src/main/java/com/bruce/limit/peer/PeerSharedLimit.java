@@ -0,0 +1,237 @@
+package com.bruce.limit.peer;
+
+import com.bruce.Limit;
+import com.bruce.internal.Preconditions;
+import com.bruce.limit.AbstractLimit;
+import com.bruce.limit.persistence.LimitSnapshot;
+import com.bruce.limit.persistence.Snapshottable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Limit decorator that periodically exchanges {@link PeerSummary} instances with the rest of the fleet and
+ * blends the peers' median estimate into the local one.  A node that has seen fewer than the warmup number
+ * of samples adopts the fleet estimate outright, so new or cold nodes start where their peers already are
+ * instead of probing from the initial limit.  Only the first adoption restores the delegate; later exchanges
+ * merge the blended estimate so the delegate keeps its RTT measurements and probing state.
+ *
+ * <p>The sample that finds an exchange due only claims it; the transport is called from the exchange
+ * executor, a shared daemon thread by default, and at most one exchange per limit runs at a time.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 19:20
+ * @Version 1.0
+ */
+public final class PeerSharedLimit extends AbstractLimit {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PeerSharedLimit.class);
+
+    public static class Builder {
+        private final String nodeId;
+        private final PeerTransport transport;
+        private long exchangeInterval = TimeUnit.SECONDS.toNanos(1);
+        private long maxAgeMillis = TimeUnit.SECONDS.toMillis(10);
+        private double peerWeight = 0.3;
+        private int warmupSamples = 100;
+        private Supplier<Long> clock = System::currentTimeMillis;
+        private Executor executor;
+
+        private Builder(String nodeId, PeerTransport transport) {
+            this.nodeId = nodeId;
+            this.transport = transport;
+        }
+
+        /**
+         * Minimum time between exchanges, measured using the sample timestamps.
+         */
+        public Builder exchangeInterval(long interval, TimeUnit units) {
+            this.exchangeInterval = units.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Summaries older than this are ignored.
+         */
+        public Builder maxAge(long maxAge, TimeUnit units) {
+            this.maxAgeMillis = units.toMillis(maxAge);
+            return this;
+        }
+
+        /**
+         * Weight of the peers' median estimate once this node is warm.
+         */
+        public Builder peerWeight(double peerWeight) {
+            Preconditions.checkArgument(peerWeight >= 0.0 && peerWeight <= 1.0, "Peer weight must be in the range [0.0, 1.0]");
+            this.peerWeight = peerWeight;
+            return this;
+        }
+
+        public Builder warmupSamples(int warmupSamples) {
+            this.warmupSamples = warmupSamples;
+            return this;
+        }
+
+        /**
+         * Wall clock in millis used to timestamp summaries.
+         */
+        public Builder clock(Supplier<Long> clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Executor that calls the transport.  Defaults to a single daemon thread shared by all instances.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public <LimitT extends Limit & Snapshottable> PeerSharedLimit build(LimitT delegate) {
+            return new PeerSharedLimit(this, delegate, delegate);
+        }
+    }
+
+    public static Builder newBuilder(String nodeId, PeerTransport transport) {
+        return new Builder(nodeId, transport);
+    }
+
+    private static final class ExchangeExecutor {
+        private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "peer-shared-limit-exchange");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final Limit delegate;
+    private final Snapshottable state;
+    private final String nodeId;
+    private final PeerTransport transport;
+    private final long exchangeInterval;
+    private final long maxAgeMillis;
+    private final double peerWeight;
+    private final int warmupSamples;
+    private final Supplier<Long> clock;
+    private final Executor executor;
+    private final AtomicLong nextExchange = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicBoolean exchanging = new AtomicBoolean();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicBoolean restored = new AtomicBoolean();
+
+    private PeerSharedLimit(Builder builder, Limit delegate, Snapshottable state) {
+        super(delegate.getLimit());
+        this.delegate = delegate;
+        this.state = state;
+        this.nodeId = builder.nodeId;
+        this.transport = builder.transport;
+        this.exchangeInterval = builder.exchangeInterval;
+        this.maxAgeMillis = builder.maxAgeMillis;
+        this.peerWeight = builder.peerWeight;
+        this.warmupSamples = builder.warmupSamples;
+        this.clock = builder.clock;
+        this.executor = builder.executor == null ? ExchangeExecutor.INSTANCE : builder.executor;
+    }
+
+    @Override
+    protected int _update(long startTime, long rtt, int inflight, boolean didDrop) {
+        return _update(startTime, rtt, inflight, didDrop, Double.NaN);
+    }
+
+    @Override
+    protected int _update(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        if (Double.isNaN(cost)) {
+            delegate.onSample(startTime, rtt, inflight, didDrop);
+        } else {
+            delegate.onSample(startTime, rtt, inflight, didDrop, cost);
+        }
+        samples.increment();
+
+        final long endTime = startTime + rtt;
+        final long next = nextExchange.get();
+        if ((next == Long.MIN_VALUE || endTime - next >= 0)
+                && !exchanging.get()
+                && nextExchange.compareAndSet(next, endTime + exchangeInterval)
+                && exchanging.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        exchange(inflight);
+                    } catch (RuntimeException e) {
+                        LOG.warn("Failed to exchange summaries with peers", e);
+                    } finally {
+                        exchanging.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Exchange executor rejected the exchange", e);
+                exchanging.set(false);
+            }
+        }
+        return delegate.getLimit();
+    }
+
+    private void exchange(int inflight) {
+        final long now = clock.get();
+        final LimitSnapshot local = state.snapshot();
+        transport.publish(new PeerSummary(nodeId, local.getEstimateLimit(), local.getRttNoLoadNanos(), inflight, now));
+
+        final List<PeerSummary> peers = transport.receive().stream()
+                .filter(peer -> !nodeId.equals(peer.getNodeId()))
+                .filter(peer -> now - peer.getTimestamp() <= maxAgeMillis)
+                .collect(Collectors.toList());
+        if (peers.isEmpty()) {
+            return;
+        }
+
+        final double peerLimit = median(peers.stream().mapToDouble(PeerSummary::getLimit).toArray());
+        final double peerRtt = median(peers.stream().filter(peer -> peer.getRttNoLoadNanos() > 0).mapToDouble(PeerSummary::getRttNoLoadNanos).toArray());
+        final long samples = this.samples.sum();
+        final double weight = samples < warmupSamples ? 1.0 : peerWeight;
+
+        final double limit = local.getEstimateLimit() * (1 - weight) + peerLimit * weight;
+        final long rttNoLoad;
+        if (peerRtt == 0) {
+            rttNoLoad = local.getRttNoLoadNanos();
+        } else if (local.getRttNoLoadNanos() == 0) {
+            rttNoLoad = (long)peerRtt;
+        } else {
+            rttNoLoad = (long)(local.getRttNoLoadNanos() * (1 - weight) + peerRtt * weight);
+        }
+
+        LOG.debug("Merged {} peers: limit {} -> {}", peers.size(), (int)local.getEstimateLimit(), (int)limit);
+        if (samples < warmupSamples && restored.compareAndSet(false, true)) {
+            state.restore(new LimitSnapshot(limit, rttNoLoad));
+        } else {
+            state.merge(new LimitSnapshot(limit, rttNoLoad));
+        }
+        setLimit(delegate.getLimit());
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        Arrays.sort(values);
+        final int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "PeerSharedLimit [node=" + nodeId + ", limit=" + getLimit() + ", delegate=" + delegate + "]";
+    }
+}
@@ -0,0 +1,58 @@
+package com.bruce.limit.peer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compact summary of one node's limit state as exchanged with its peers.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 19:02
+ * @Version 1.0
+ */
+public final class PeerSummary {
+
+    private final String nodeId;
+    private final double limit;
+    private final long rttNoLoadNanos;
+    private final int inflight;
+    private final long timestamp;
+
+    public PeerSummary(String nodeId, double limit, long rttNoLoadNanos, int inflight, long timestamp) {
+        this.nodeId = nodeId;
+        this.limit = limit;
+        this.rttNoLoadNanos = rttNoLoadNanos;
+        this.inflight = inflight;
+        this.timestamp = timestamp;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public long getRttNoLoadNanos() {
+        return rttNoLoadNanos;
+    }
+
+    public int getInflight() {
+        return inflight;
+    }
+
+    /**
+     * Wall clock time, in millis, at which the summary was taken.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "PeerSummary [node=" + nodeId +
+                ", limit=" + (int)limit +
+                ", rtt_noload=" + TimeUnit.NANOSECONDS.toMicros(rttNoLoadNanos) / 1000.0 +
+                " ms, inflight=" + inflight + "]";
+    }
+}
@@ -0,0 +1,22 @@
+package com.bruce.limit.peer;
+
+import java.util.Collection;
+
+/**
+ * SPI for exchanging {@link PeerSummary} instances between nodes.  Both methods are called on the request
+ * path and must not block; implementations should publish asynchronously and return the latest summaries
+ * received so far.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 19:05
+ * @Version 1.0
+ */
+public interface PeerTransport {
+
+    void publish(PeerSummary summary);
+
+    /**
+     * Latest known summary of each peer.  May include this node's own summary.
+     */
+    Collection<PeerSummary> receive();
+}
@@ -0,0 +1,121 @@
+package com.bruce.limit.persistence;
+
+import com.bruce.Limit;
+import com.bruce.internal.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the learned state of registered limits to a {@link SnapshotStore} and restores it
+ * when a limit is registered under a key that was persisted by a previous run.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 10:41
+ * @Version 1.0
+ */
+public final class LimitPersister implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LimitPersister.class);
+
+    public static class Builder {
+        private Path file;
+        private long intervalMillis = TimeUnit.SECONDS.toMillis(10);
+        private long maxAgeMillis = TimeUnit.HOURS.toMillis(1);
+
+        private Builder() {}
+
+        public Builder file(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        public Builder interval(long interval, TimeUnit units) {
+            Preconditions.checkArgument(interval > 0, "Interval must be > 0");
+            this.intervalMillis = units.toMillis(interval);
+            return this;
+        }
+
+        public Builder maxAge(long maxAge, TimeUnit units) {
+            this.maxAgeMillis = units.toMillis(maxAge);
+            return this;
+        }
+
+        public LimitPersister build() throws IOException {
+            Preconditions.checkArgument(file != null, "Snapshot file must be specified");
+            return new LimitPersister(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private final SnapshotStore store;
+    private final Map<String, LimitSnapshot> restored;
+    private final Map<String, Snapshottable> limits = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final ScheduledFuture<?> task;
+
+    private LimitPersister(Builder builder) throws IOException {
+        this.store = new SnapshotStore(builder.file);
+        this.restored = new ConcurrentHashMap<>(store.load(builder.maxAgeMillis, TimeUnit.MILLISECONDS));
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "limit-persister");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.task = executor.scheduleWithFixedDelay(this::flushQuietly, builder.intervalMillis, builder.intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public <LimitT extends Limit> LimitT register(String key, LimitT limit) {
+        Preconditions.checkArgument(limit instanceof Snapshottable, limit + " does not support snapshots");
+        final Snapshottable snapshottable = (Snapshottable) limit;
+        final LimitSnapshot snapshot = restored.remove(key);
+        if (snapshot != null) {
+            LOG.info("Restoring {} for {}", snapshot, key);
+            snapshottable.restore(snapshot);
+        }
+        limits.put(key, snapshottable);
+        return limit;
+    }
+
+    public void unregister(String key) {
+        limits.remove(key);
+    }
+
+    public void flush() throws IOException {
+        final Map<String, LimitSnapshot> snapshots = new HashMap<>();
+        limits.forEach((key, limit) -> snapshots.put(key, limit.snapshot()));
+        store.append(snapshots);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            LOG.warn("Failed to persist limit snapshots", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        task.cancel(false);
+        executor.shutdown();
+        try {
+            flush();
+        } finally {
+            store.close();
+        }
+    }
+}
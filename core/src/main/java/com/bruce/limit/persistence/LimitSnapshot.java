@@ -0,0 +1,38 @@
+package com.bruce.limit.persistence;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author: Bruce
+ * @Date: 2026/10/19 10:12
+ * @Version 1.0
+ */
+public final class LimitSnapshot {
+
+    private final double estimateLimit;
+    private final long rttNoLoadNanos;
+
+    public LimitSnapshot(double estimateLimit, long rttNoLoadNanos) {
+        this.estimateLimit = estimateLimit;
+        this.rttNoLoadNanos = rttNoLoadNanos;
+    }
+
+    public double getEstimateLimit() {
+        return estimateLimit;
+    }
+
+    public long getRttNoLoad(TimeUnit units) {
+        return units.convert(rttNoLoadNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getRttNoLoadNanos() {
+        return rttNoLoadNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "LimitSnapshot [limit=" + estimateLimit +
+                ", rtt_noload=" + TimeUnit.NANOSECONDS.toMicros(rttNoLoadNanos) / 1000.0 +
+                " ms]";
+    }
+}
@@ -0,0 +1,219 @@
+package com.bruce.limit.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only file of {@link LimitSnapshot} records.  Each flush appends one record per key and the last
+ * record for a key wins on load.  The file is rewritten with only the latest records once it has grown to
+ * several times the number of live keys.  A torn trailing record, e.g. from a crash mid-write, is ignored.
+ * A failed rewrite is logged and retried on a later append; the original file stays in use until the
+ * rewritten one has replaced it.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 10:20
+ * @Version 1.0
+ */
+public final class SnapshotStore implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private static final int MAGIC = 0x4C494D53;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_KEY_LENGTH = Short.MAX_VALUE;
+    private static final int MIN_COMPACT_THRESHOLD = 1024;
+
+    private static final class Record {
+        private final LimitSnapshot snapshot;
+        private final long timestamp;
+
+        Record(LimitSnapshot snapshot, long timestamp) {
+            this.snapshot = snapshot;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private final Path file;
+    private FileChannel channel;
+    private int recordCount;
+    private int liveKeyCount;
+    private long validLength;
+
+    public SnapshotStore(Path file) throws IOException {
+        this.file = file;
+        this.liveKeyCount = read().size();
+        this.channel = openForAppend(file);
+    }
+
+    public synchronized Map<String, LimitSnapshot> load(long maxAge, TimeUnit units) throws IOException {
+        final long oldest = System.currentTimeMillis() - units.toMillis(maxAge);
+        final Map<String, LimitSnapshot> result = new HashMap<>();
+        read().forEach((key, record) -> {
+            if (record.timestamp >= oldest) {
+                result.put(key, record.snapshot);
+            }
+        });
+        return result;
+    }
+
+    public synchronized void append(Map<String, LimitSnapshot> snapshots) throws IOException {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        final ByteBuffer buffer = ByteBuffer.allocate(snapshots.keySet().stream()
+                .mapToInt(key -> recordSize(encode(key)))
+                .sum());
+        snapshots.forEach((key, snapshot) -> writeRecord(buffer, encode(key), snapshot, now));
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        recordCount += snapshots.size();
+        liveKeyCount = Math.max(liveKeyCount, snapshots.size());
+        if (recordCount > Math.max(MIN_COMPACT_THRESHOLD, liveKeyCount * 4)) {
+            try {
+                compact();
+            } catch (IOException e) {
+                LOG.warn("Failed to compact {}", file, e);
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        final int previousRecordCount = recordCount;
+        final long previousValidLength = validLength;
+        final Map<String, Record> latest = read();
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        int size = HEADER_SIZE;
+        for (String key : latest.keySet()) {
+            size += recordSize(encode(key));
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        latest.forEach((key, record) -> writeRecord(buffer, encode(key), record.snapshot, record.timestamp));
+        buffer.flip();
+
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // Keep appending to the original file
+            recordCount = previousRecordCount;
+            validLength = previousValidLength;
+            deleteQuietly(tmp);
+            throw e;
+        }
+
+        // The old channel still refers to the replaced file, so swap it only once the new file is in place
+        validLength = size;
+        final FileChannel previous = channel;
+        channel = openForAppend(file);
+        previous.close();
+        recordCount = latest.size();
+        liveKeyCount = latest.size();
+        LOG.debug("Compacted {} to {} records", file, recordCount);
+    }
+
+    private Map<String, Record> read() throws IOException {
+        final Map<String, Record> records = new HashMap<>();
+        recordCount = 0;
+        validLength = 0;
+        if (!Files.exists(file)) {
+            return records;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            LOG.warn("Ignoring unrecognized snapshot file {}", file);
+            return records;
+        }
+        validLength = HEADER_SIZE;
+
+        int count = 0;
+        while (buffer.remaining() >= Short.BYTES) {
+            final int keyLength = buffer.getShort();
+            if (keyLength < 0 || buffer.remaining() < keyLength + Double.BYTES + Long.BYTES * 2) {
+                LOG.warn("Ignoring truncated record at offset {} of {}", buffer.position() - Short.BYTES, file);
+                break;
+            }
+            final byte[] key = new byte[keyLength];
+            buffer.get(key);
+            final LimitSnapshot snapshot = new LimitSnapshot(buffer.getDouble(), buffer.getLong());
+            records.put(new String(key, StandardCharsets.UTF_8), new Record(snapshot, buffer.getLong()));
+            validLength = buffer.position();
+            count++;
+        }
+        recordCount = count;
+        return records;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warn("Failed to delete {}", path, e);
+        }
+    }
+
+    private FileChannel openForAppend(Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (validLength < HEADER_SIZE) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+        } else {
+            channel.truncate(validLength);
+        }
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private static byte[] encode(String key) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Key too long: " + key);
+        }
+        return bytes;
+    }
+
+    private static int recordSize(byte[] key) {
+        return Short.BYTES + key.length + Double.BYTES + Long.BYTES * 2;
+    }
+
+    private static void writeRecord(ByteBuffer buffer, byte[] key, LimitSnapshot snapshot, long timestamp) {
+        buffer.putShort((short)key.length)
+                .put(key)
+                .putDouble(snapshot.getEstimateLimit())
+                .putLong(snapshot.getRttNoLoadNanos())
+                .putLong(timestamp);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.bruce.limit.persistence;
+
+/**
+ * A limit whose learned state can be captured and later restored, e.g. to warm start after a restart.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 10:14
+ * @Version 1.0
+ */
+public interface Snapshottable {
+
+    LimitSnapshot snapshot();
+
+    /**
+     * Replaces the learned state.  The new limit is visible right away; measurements are replaced on the
+     * sampling thread before the next sample.
+     */
+    void restore(LimitSnapshot snapshot);
+
+    /**
+     * Moves the current estimate to the given one while keeping the measurements learned so far, e.g. to
+     * blend in an estimate from peers.  The snapshot's RTT is folded into the measurements like one more
+     * sample.  Defaults to {@link #restore(LimitSnapshot)} for limits without state beyond the estimate.
+     */
+    default void merge(LimitSnapshot snapshot) {
+        restore(snapshot);
+    }
+}
@@ -0,0 +1,162 @@
+package com.bruce.limit.shared;
+
+import com.bruce.Limit;
+import com.bruce.internal.Preconditions;
+import com.bruce.limit.AbstractLimit;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limit decorator that coordinates processes on the same host which share a local downstream.  The delegate
+ * is fed the host-wide inflight count so that it learns the capacity of the downstream as a whole; the
+ * processes' estimates are averaged into a host limit which is then either split evenly between the live
+ * processes or shared, in which case each process may use whatever the others are not using.  State is
+ * published on every sample and by a periodic heartbeat, so that an idle process, or one whose requests
+ * take longer than the staleness threshold, keeps its slot.  Close the limit to stop the heartbeat.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 18:32
+ * @Version 1.0
+ */
+public final class HostSharedLimit extends AbstractLimit implements Closeable {
+
+    public enum Mode {
+        /**
+         * Each live process gets an equal share of the host limit.
+         */
+        SPLIT,
+
+        /**
+         * Each process may use the host limit minus the inflight requests of the other processes.
+         */
+        SHARED
+    }
+
+    public static class Builder {
+        private final SharedLimitSegment segment;
+        private Mode mode = Mode.SPLIT;
+        private long stalenessMillis = TimeUnit.SECONDS.toMillis(1);
+        private long heartbeatMillis = 0;
+
+        private Builder(SharedLimitSegment segment) {
+            this.segment = segment;
+        }
+
+        public Builder mode(Mode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * Processes that have not published for this long are considered gone.
+         */
+        public Builder staleness(long staleness, TimeUnit units) {
+            Preconditions.checkArgument(staleness > 0, "Staleness must be > 0");
+            this.stalenessMillis = units.toMillis(staleness);
+            return this;
+        }
+
+        /**
+         * Interval at which state is republished between samples.  Defaults to a quarter of the staleness.
+         */
+        public Builder heartbeat(long interval, TimeUnit units) {
+            Preconditions.checkArgument(interval > 0, "Heartbeat interval must be > 0");
+            this.heartbeatMillis = units.toMillis(interval);
+            return this;
+        }
+
+        public HostSharedLimit build(Limit delegate) {
+            Preconditions.checkArgument(heartbeatMillis < stalenessMillis, "Heartbeat interval must be shorter than the staleness");
+            return new HostSharedLimit(this, delegate);
+        }
+    }
+
+    public static Builder newBuilder(SharedLimitSegment segment) {
+        return new Builder(segment);
+    }
+
+    private final Limit delegate;
+    private final SharedLimitSegment segment;
+    private final Mode mode;
+    private final long stalenessMillis;
+    private final ScheduledFuture<?> heartbeat;
+    private volatile int localInflight;
+
+    private static final class HeartbeatScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "host-shared-limit-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private HostSharedLimit(Builder builder, Limit delegate) {
+        super(delegate.getLimit());
+        this.delegate = delegate;
+        this.segment = builder.segment;
+        this.mode = builder.mode;
+        this.stalenessMillis = builder.stalenessMillis;
+
+        final long now = System.currentTimeMillis();
+        segment.publish(delegate.getLimit(), 0, now);
+        setLimit(computeLimit(segment.read(now, stalenessMillis)));
+
+        final long heartbeatMillis = builder.heartbeatMillis > 0 ? builder.heartbeatMillis : Math.max(1, stalenessMillis / 4);
+        this.heartbeat = HeartbeatScheduler.INSTANCE.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void heartbeat() {
+        final long now = System.currentTimeMillis();
+        segment.publish(delegate.getLimit(), localInflight, now);
+        setLimit(computeLimit(segment.read(now, stalenessMillis)));
+    }
+
+    @Override
+    protected int _update(long startTime, long rtt, int inflight, boolean didDrop) {
+        return _update(startTime, rtt, inflight, didDrop, Double.NaN);
+    }
+
+    @Override
+    protected int _update(long startTime, long rtt, int inflight, boolean didDrop, double cost) {
+        final long now = System.currentTimeMillis();
+        localInflight = inflight;
+
+        final int hostInflight = inflight + segment.read(now, stalenessMillis).getOthersInflight();
+        if (Double.isNaN(cost)) {
+            delegate.onSample(startTime, rtt, hostInflight, didDrop);
+        } else {
+            delegate.onSample(startTime, rtt, hostInflight, didDrop, cost);
+        }
+        segment.publish(delegate.getLimit(), inflight, now);
+        return computeLimit(segment.read(now, stalenessMillis));
+    }
+
+    private int computeLimit(SharedLimitSegment.View view) {
+        final int hostLimit = Math.max(view.getAverageLimit(), 1);
+        if (mode == Mode.SPLIT) {
+            return Math.max(1, hostLimit / Math.max(1, view.getLiveProcesses()));
+        }
+        return Math.max(1, hostLimit - view.getOthersInflight());
+    }
+
+    public int getHostLimit() {
+        return segment.read(System.currentTimeMillis(), stalenessMillis).getAverageLimit();
+    }
+
+    /**
+     * Stops the heartbeat.  The segment is owned by the caller and is not closed.
+     */
+    @Override
+    public void close() {
+        heartbeat.cancel(false);
+    }
+
+    @Override
+    public String toString() {
+        return "HostSharedLimit [limit=" + getLimit() + ", slot=" + segment.getSlot() + ", inflight=" + localInflight + ", mode=" + mode + ", delegate=" + delegate + "]";
+    }
+}
@@ -0,0 +1,167 @@
+package com.bruce.limit.shared;
+
+import com.bruce.internal.Fences;
+import com.bruce.internal.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped file through which processes on the same host publish their limit estimate and inflight
+ * count.  Each process claims one 64 byte slot by holding an OS file lock on its region, so every slot has
+ * exactly one writer and can be updated without CAS.  The OS releases the lock when a process dies; readers
+ * additionally ignore slots whose heartbeat is older than the staleness threshold.
+ *
+ * <p>Each slot is guarded by a version word, seqlock style: the writer makes it odd, stores the values and
+ * makes it even again, with store fences in between, and readers retry a slot until they see the same even
+ * version, with load fences, before and after reading the values.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 18:05
+ * @Version 1.0
+ */
+public final class SharedLimitSegment implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedLimitSegment.class);
+
+    static final int SLOT_SIZE = 64;
+    private static final int VERSION_OFFSET = 0;
+    private static final int HEARTBEAT_OFFSET = 8;
+    private static final int LIMIT_OFFSET = 16;
+    private static final int INFLIGHT_OFFSET = 20;
+    private static final int MAX_READ_ATTEMPTS = 16;
+
+    public static final class View {
+        private final int liveProcesses;
+        private final long limitSum;
+        private final int othersInflight;
+
+        View(int liveProcesses, long limitSum, int othersInflight) {
+            this.liveProcesses = liveProcesses;
+            this.limitSum = limitSum;
+            this.othersInflight = othersInflight;
+        }
+
+        public int getLiveProcesses() {
+            return liveProcesses;
+        }
+
+        /**
+         * Average of the limit estimates published by live processes, including this one.
+         */
+        public int getAverageLimit() {
+            return liveProcesses == 0 ? 0 : (int)(limitSum / liveProcesses);
+        }
+
+        public int getOthersInflight() {
+            return othersInflight;
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final FileLock slotLock;
+    private final int slotCount;
+    private final int slot;
+    // Only written by the owner of the slot
+    private long version;
+
+    public SharedLimitSegment(Path file, int slotCount) throws IOException {
+        Preconditions.checkArgument(slotCount > 0, "Slot count must be > 0");
+        this.slotCount = slotCount;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long)slotCount * SLOT_SIZE);
+
+        FileLock lock = null;
+        int claimed = -1;
+        for (int i = 0; i < slotCount && lock == null; i++) {
+            try {
+                lock = channel.tryLock((long)i * SLOT_SIZE, SLOT_SIZE, false);
+            } catch (OverlappingFileLockException e) {
+                // Slot claimed by another segment in this JVM
+            }
+            if (lock != null) {
+                claimed = i;
+            }
+        }
+
+        if (lock == null) {
+            channel.close();
+            throw new IOException("All " + slotCount + " slots of " + file + " are in use");
+        }
+
+        this.slotLock = lock;
+        this.slot = claimed;
+        // A previous owner may have died in the middle of a write
+        this.version = (buffer.getLong(slot * SLOT_SIZE + VERSION_OFFSET) + 1) & ~1L;
+        LOG.debug("Claimed slot {} of {}", slot, file);
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Publishes this process's state.  Readers see either all of the values or none of them.
+     */
+    public synchronized void publish(int limit, int inflight, long nowMillis) {
+        write(limit, inflight, nowMillis);
+    }
+
+    private void write(int limit, int inflight, long heartbeat) {
+        final int offset = slot * SLOT_SIZE;
+        buffer.putLong(offset + VERSION_OFFSET, ++version);
+        Fences.storeFence();
+        buffer.putLong(offset + HEARTBEAT_OFFSET, heartbeat);
+        buffer.putInt(offset + LIMIT_OFFSET, limit);
+        buffer.putInt(offset + INFLIGHT_OFFSET, inflight);
+        Fences.storeFence();
+        buffer.putLong(offset + VERSION_OFFSET, ++version);
+    }
+
+    public View read(long nowMillis, long stalenessMillis) {
+        int live = 0;
+        long limitSum = 0;
+        int othersInflight = 0;
+        for (int i = 0; i < slotCount; i++) {
+            final int offset = i * SLOT_SIZE;
+            for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+                final long before = buffer.getLong(offset + VERSION_OFFSET);
+                Fences.loadFence();
+                final long heartbeat = buffer.getLong(offset + HEARTBEAT_OFFSET);
+                final int limit = buffer.getInt(offset + LIMIT_OFFSET);
+                final int inflight = buffer.getInt(offset + INFLIGHT_OFFSET);
+                Fences.loadFence();
+                if ((before & 1) != 0 || buffer.getLong(offset + VERSION_OFFSET) != before) {
+                    // Slot is being written, a slot that stays busy is skipped for this read
+                    continue;
+                }
+
+                if (heartbeat != 0 && nowMillis - heartbeat <= stalenessMillis) {
+                    live++;
+                    limitSum += limit;
+                    if (i != slot) {
+                        othersInflight += inflight;
+                    }
+                }
+                break;
+            }
+        }
+        return new View(live, limitSum, othersInflight);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        write(0, 0, 0);
+        slotLock.release();
+        channel.close();
+    }
+}
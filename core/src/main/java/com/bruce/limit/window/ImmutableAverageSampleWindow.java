@@ -1,7 +1,5 @@
 package com.bruce.limit.window;
 
-import com.sun.scenario.effect.impl.prism.PrImage;
-
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,7 +38,7 @@ public class ImmutableAverageSampleWindow implements SampleWindow {
                 sum+rtt,
                 Math.max(inflight, this.maxInFlight),
                 sampleCount + 1,
-                this.didDrop || didDrop
+                this.didDrop || dropped
         );
     }
 
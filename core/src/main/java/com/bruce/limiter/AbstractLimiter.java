@@ -5,10 +5,17 @@ import com.bruce.Limiter;
 import com.bruce.MetricIds;
 import com.bruce.MetricRegistry;
 import com.bruce.internal.EmptyMetricRegistry;
+import com.bruce.internal.Preconditions;
 import com.bruce.limit.VegasLimit;
+import com.bruce.limit.persistence.LimitSnapshot;
+import com.bruce.limit.persistence.Snapshottable;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
@@ -22,17 +29,29 @@ public abstract class AbstractLimiter<ContextT> implements Limiter<ContextT> {
         private Limit limit = VegasLimit.newDefault();
         private Supplier<Long> clock = System::nanoTime;
         protected MetricRegistry registry = EmptyMetricRegistry.INSTANCE;
+        private int maxStreams = Integer.MAX_VALUE;
 
         public BuilderT limit(Limit limit) {
             this.limit = limit;
             return self();
         }
 
-        public Builder clock(Supplier<Long> clock) {
+        public BuilderT clock(Supplier<Long> clock) {
             this.clock = clock;
             return self();
         }
 
+        /**
+         * Max number of concurrent streams admitted by {@link AbstractLimiter#acquireStream(Object)}.  Streams
+         * are counted separately from the adaptive inflight so that long-lived connections don't hold on
+         * to the limit of short requests.
+         */
+        public BuilderT maxStreams(int maxStreams) {
+            Preconditions.checkArgument(maxStreams >= 0, "maxStreams must be >= 0");
+            this.maxStreams = maxStreams;
+            return self();
+        }
+
         public BuilderT metricRegistry(MetricRegistry registry) {
             this.registry = registry;
             return self();
@@ -43,6 +62,9 @@ public abstract class AbstractLimiter<ContextT> implements Limiter<ContextT> {
     }
 
     private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger streamsInFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final int maxStreams;
     private final Supplier<Long> clock;
     private final Limit limitAlgorithm;
     private volatile int limit;
@@ -52,34 +74,104 @@ public abstract class AbstractLimiter<ContextT> implements Limiter<ContextT> {
         this.limitAlgorithm = builder.limit;
         this.limit = limitAlgorithm.getLimit();
         this.limitAlgorithm.notifyOnChange(this::onNewLimit);
+        this.maxStreams = builder.maxStreams;
 
         builder.registry.registerGauge(MetricIds.LIMIT_NAME, this::getLimit);
+        builder.registry.registerGauge(MetricIds.STREAM_INFLIGHT_NAME, this::getStreamsInflight);
     }
 
     protected Listener createListener() {
+        return createListener(1);
+    }
+
+    protected Listener createListener(int permits) {
         final long startTime = clock.get();
-        final int currentInflight = inFlight.incrementAndGet();
+        final int currentInflight = inFlight.addAndGet(permits);
         return new Listener() {
             @Override
             public void onSuccess() {
-                inFlight.decrementAndGet();
+                inFlight.addAndGet(-permits);
 
                 limitAlgorithm.onSample(startTime, clock.get() - startTime, currentInflight, false);
             }
 
             @Override
             public void onIgnore() {
-                inFlight.decrementAndGet();
+                inFlight.addAndGet(-permits);
             }
 
             @Override
             public void onDropped() {
-                inFlight.decrementAndGet();
+                inFlight.addAndGet(-permits);
 
                 limitAlgorithm.onSample(startTime, clock.get() - startTime, currentInflight, true);
             }
+
+            @Override
+            public void onSuccess(double cost) {
+                inFlight.addAndGet(-permits);
+
+                limitAlgorithm.onSample(startTime, clock.get() - startTime, currentInflight, false, cost);
+            }
+
+            @Override
+            public void onDropped(double cost) {
+                inFlight.addAndGet(-permits);
+
+                limitAlgorithm.onSample(startTime, clock.get() - startTime, currentInflight, true, cost);
+            }
+        };
+
+    }
+
+    /**
+     * Acquire a slot for a long-lived stream.  Streams only count against {@link Builder#maxStreams(int)},
+     * while their progress samples still drive the adaptive limit.
+     */
+    public Optional<StreamListener> acquireStream(ContextT context) {
+        if (streamsInFlight.incrementAndGet() > maxStreams) {
+            streamsInFlight.decrementAndGet();
+            return Optional.empty();
+        }
+        return Optional.of(createStreamListener());
+    }
+
+    protected StreamListener createStreamListener() {
+        final AtomicLong lastProgress = new AtomicLong(clock.get());
+        return new StreamListener() {
+            @Override
+            public void onProgress() {
+                final long now = clock.get();
+                final long previous = lastProgress.getAndSet(now);
+                limitAlgorithm.onSample(previous, now - previous, inFlight.get(), false);
+            }
+
+            @Override
+            public void onSuccess() {
+                streamsInFlight.decrementAndGet();
+            }
+
+            @Override
+            public void onIgnore() {
+                streamsInFlight.decrementAndGet();
+            }
+
+            @Override
+            public void onDropped() {
+                streamsInFlight.decrementAndGet();
+
+                final long previous = lastProgress.get();
+                limitAlgorithm.onSample(previous, clock.get() - previous, inFlight.get(), true);
+            }
         };
+    }
 
+    /**
+     * A request for more permits than the whole limit is only admitted while nothing else is in flight,
+     * otherwise it could never run.
+     */
+    protected static boolean exceedsLimit(int inflight, int permits, int limit) {
+        return inflight >= limit || (inflight > 0 && inflight + permits > limit);
     }
 
     public int getLimit() {
@@ -90,6 +182,44 @@ public abstract class AbstractLimiter<ContextT> implements Limiter<ContextT> {
         return inFlight.get();
     }
 
+    public int getStreamsInflight() {
+        return streamsInFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    protected void onRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Immutable view of the limiter's state, taken without locking.  For a partitioned limiter the inflight
+     * count is the sum over the partitions, so that it is consistent with them.
+     */
+    public LimiterSnapshot snapshot() {
+        final LimitSnapshot limitSnapshot = limitAlgorithm instanceof Snapshottable
+                ? ((Snapshottable) limitAlgorithm).snapshot()
+                : null;
+        final List<PartitionSnapshot> partitions = partitionSnapshots();
+        final int inflight = partitions.isEmpty()
+                ? getInflight()
+                : partitions.stream().mapToInt(PartitionSnapshot::getInflight).sum();
+        return new LimiterSnapshot(
+                getLimit(),
+                inflight,
+                getStreamsInflight(),
+                getRejectedCount(),
+                limitSnapshot == null ? Double.NaN : limitSnapshot.getEstimateLimit(),
+                limitSnapshot == null ? -1 : limitSnapshot.getRttNoLoadNanos(),
+                partitions);
+    }
+
+    protected List<PartitionSnapshot> partitionSnapshots() {
+        return Collections.emptyList();
+    }
+
     public void onNewLimit(int newLimit) {
         limit = newLimit;
     }
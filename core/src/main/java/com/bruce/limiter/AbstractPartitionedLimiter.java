@@ -10,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
@@ -22,6 +23,7 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractLimiter.class);
     private static final String PARTITION_TAG_NAME = "partition";
+    private static final int MAX_SNAPSHOT_ATTEMPTS = 16;
 
     public abstract static class Builder<BuilderT extends AbstractLimiter.Builder<BuilderT>, ContextT> extends AbstractLimiter.Builder<BuilderT> {
         private List<Function<ContextT, String>> partitionResolvers = new ArrayList<>();
@@ -63,8 +65,10 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
     static class Partition {
         private final String name;
         private double percent = 0.0;
-        private int limit = 0;
-        private int busy = 0;
+        // Written under the limiter's lock, volatile so snapshots and metrics can read them without it
+        private volatile int limit = 0;
+        private volatile int busy = 0;
+        private final LongAdder rejected = new LongAdder();
         private long backofMillis = 0;
         private MetricRegistry.SampleListener inflightDistribution;
 
@@ -86,17 +90,17 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
             this.limit = (int)Math.max(1, Math.ceil(totalLimit * percent));
         }
 
-        boolean isLimitExceeded() {
-            return busy >= limit;
+        boolean isLimitExceeded(int permits) {
+            return exceedsLimit(busy, permits, limit);
         }
 
-        void acquire() {
-            busy++;
+        void acquire(int permits) {
+            busy += permits;
             inflightDistribution.addSample(busy);
         }
 
-        void release() {
-            busy--;
+        void release(int permits) {
+            busy -= permits;
         }
 
         int getLimit() {
@@ -111,6 +115,14 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
             return percent;
         }
 
+        long getRejectedCount() {
+            return rejected.sum();
+        }
+
+        PartitionSnapshot snapshot() {
+            return new PartitionSnapshot(name, percent, limit, busy, rejected.sum());
+        }
+
         void createMetrics(MetricRegistry registry) {
             this.inflightDistribution = registry.registerDistribution(MetricIds.INFLIGHT_NAME, PARTITION_TAG_NAME, name);
             registry.registerGauge(MetricIds.PARTITION_LIMIT_NAME, this::getLimit, PARTITION_TAG_NAME, name);
@@ -118,7 +130,7 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
 
         @Override
         public String toString() {
-            return "Partition [pct=" + percent + ", limit" + limit + ", busy=" + busy + "]";
+            return "Partition [pct=" + percent + ", limit=" + limit + ", busy=" + busy + "]";
         }
     }
 
@@ -129,6 +141,9 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
     private final AtomicInteger delayThreads = new AtomicInteger();
     private final int maxDelayedThreads;
 
+    // Seqlock over the partitions' busy counts: odd while a change is in progress under the lock
+    private volatile long partitionVersion = 0;
+
     public AbstractPartitionedLimiter(Builder<?, ContextT> builder) {
         super(builder);
 
@@ -136,7 +151,7 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
         Preconditions.checkArgument(builder.partitions.values().stream().map(Partition::getPercent).reduce(0.0, Double::sum) <= 1.0,
         "Sum of percentages must be <= 1.0");
 
-        this.partitions = new HashMap<>(builder.partitions);
+        this.partitions = new LinkedHashMap<>(builder.partitions);
         this.partitions.forEach((name, partition) -> partition.createMetrics(builder.registry));
 
         this.unknownPartition = new Partition("unknown");
@@ -165,12 +180,20 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
 
     @Override
     public Optional<Listener> acquire(ContextT context) {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
         final Partition partition = resolvePartition(context);
 
         try {
             lock.lock();
-            if (getInflight() >= getLimit() && partition.isLimitExceeded()) {
+            if (exceedsLimit(getInflight(), permits, getLimit()) && partition.isLimitExceeded(permits)) {
                 lock.unlock();
+                partition.rejected.increment();
+                onRejected();
                 if (partition.backofMillis >0 && delayThreads.get() < maxDelayedThreads) {
                     try {
                         delayThreads.incrementAndGet();
@@ -184,25 +207,39 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
                 return Optional.empty();
             }
 
-            partition.acquire();
-            final Listener listener = createListener();
+            partitionVersion++;
+            partition.acquire(permits);
+            partitionVersion++;
+            final Listener listener = createListener(permits);
             return Optional.of(new Listener() {
                 @Override
                 public void onSuccess() {
                     listener.onSuccess();
-                    releasePartition(partition);
+                    releasePartition(partition, permits);
                 }
 
                 @Override
                 public void onIgnore() {
                     listener.onIgnore();
-                    releasePartition(partition);
+                    releasePartition(partition, permits);
                 }
 
                 @Override
                 public void onDropped() {
                     listener.onDropped();
-                    releasePartition(partition);
+                    releasePartition(partition, permits);
+                }
+
+                @Override
+                public void onSuccess(double cost) {
+                    listener.onSuccess(cost);
+                    releasePartition(partition, permits);
+                }
+
+                @Override
+                public void onDropped(double cost) {
+                    listener.onDropped(cost);
+                    releasePartition(partition, permits);
                 }
             });
         } finally {
@@ -212,10 +249,12 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
         }
     }
 
-    private void releasePartition(Partition partition) {
+    private void releasePartition(Partition partition, int permits) {
         try {
             lock.lock();
-            partition.release();
+            partitionVersion++;
+            partition.release(permits);
+            partitionVersion++;
         } finally {
             lock.unlock();
         }
@@ -227,6 +266,27 @@ public class AbstractPartitionedLimiter<ContextT> extends AbstractLimiter<Contex
         partitions.forEach((name, partition) -> partition.updateLimit(newLimit));
     }
 
+    /**
+     * Reads the partitions without taking the lock, retrying while an acquire or release is changing them so
+     * that the busy counts add up.  Falls back to a best effort read if the partitions keep changing.
+     */
+    @Override
+    protected List<PartitionSnapshot> partitionSnapshots() {
+        final List<PartitionSnapshot> snapshots = new ArrayList<>(partitions.size() + 1);
+        for (int attempt = 1; ; attempt++) {
+            final long version = partitionVersion;
+            if ((version & 1) == 0 || attempt >= MAX_SNAPSHOT_ATTEMPTS) {
+                snapshots.clear();
+                partitions.values().forEach(partition -> snapshots.add(partition.snapshot()));
+                snapshots.add(unknownPartition.snapshot());
+                if (partitionVersion == version || attempt >= MAX_SNAPSHOT_ATTEMPTS) {
+                    return snapshots;
+                }
+            }
+            Thread.yield();
+        }
+    }
+
     Partition getPartition(String name) {
         return partitions.get(name);
     }
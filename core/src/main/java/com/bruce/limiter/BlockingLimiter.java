@@ -6,6 +6,7 @@ import com.bruce.internal.Preconditions;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @Author: Bruce
@@ -17,35 +18,51 @@ public class BlockingLimiter<ContextT> implements Limiter<ContextT> {
     public static final Duration MAX_TIMEOUT = Duration.ofHours(1);
 
     public static <ContextT> BlockingLimiter<ContextT> wrap(Limiter<ContextT> delegate) {
-        return new BlockingLimiter<>(delegate, MAX_TIMEOUT);
+        return new BlockingLimiter<>(delegate, MAX_TIMEOUT, null);
     }
 
     public static <ContextT> BlockingLimiter<ContextT> wrap(Limiter<ContextT> delegate, Duration timeout) {
         Preconditions.checkArgument(timeout.compareTo(MAX_TIMEOUT) < 0, "Timeout cannot be greater than " + MAX_TIMEOUT);
-        return new BlockingLimiter<>(delegate, timeout);
+        return new BlockingLimiter<>(delegate, timeout, null);
+    }
+
+    /**
+     * Blocks for up to the timeout, or for the policy's shorter overload timeout while waiting threads have
+     * become a standing queue.
+     */
+    public static <ContextT> BlockingLimiter<ContextT> wrap(Limiter<ContextT> delegate, Duration timeout, CoDelBacklogPolicy backlogPolicy) {
+        Preconditions.checkArgument(timeout.compareTo(MAX_TIMEOUT) < 0, "Timeout cannot be greater than " + MAX_TIMEOUT);
+        return new BlockingLimiter<>(delegate, timeout, backlogPolicy);
     }
 
     private final Limiter<ContextT> delegate;
     private final Duration timeout;
+    private final CoDelBacklogPolicy backlogPolicy;
 
     private final Object lock = new Object();
 
-    private BlockingLimiter(Limiter<ContextT> limiter, Duration timeout) {
+    private BlockingLimiter(Limiter<ContextT> limiter, Duration timeout, CoDelBacklogPolicy backlogPolicy) {
         this.delegate = limiter;
         this.timeout = timeout;
+        this.backlogPolicy = backlogPolicy;
     }
 
-    private Optional<Listener> tryAcquire(ContextT context) {
-        final Instant deadline = Instant.now().plus(timeout);
+    private Optional<Listener> tryAcquire(ContextT context, int permits) {
+        final Instant start = Instant.now();
+        final Instant deadline = backlogPolicy == null
+                ? start.plus(timeout)
+                : start.plusMillis(backlogPolicy.getTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS));
         synchronized (lock) {
             while (true) {
                 long timeout = Duration.between(Instant.now(), deadline).toMillis();
                 if (timeout <= 0) {
+                    onDequeue(start);
                     return Optional.empty();
                 }
 
-                final Optional<Listener> listener = delegate.acquire(context);
+                final Optional<Listener> listener = delegate.acquire(context, permits);
                 if (listener.isPresent()) {
+                    onDequeue(start);
                     return listener;
                 }
 
@@ -60,6 +77,12 @@ public class BlockingLimiter<ContextT> implements Limiter<ContextT> {
 
     }
 
+    private void onDequeue(Instant start) {
+        if (backlogPolicy != null) {
+            backlogPolicy.onDequeue(Duration.between(start, Instant.now()).toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
     private void unlock() {
         synchronized (lock) {
             lock.notifyAll();
@@ -69,7 +92,13 @@ public class BlockingLimiter<ContextT> implements Limiter<ContextT> {
 
     @Override
     public Optional<Listener> acquire(ContextT context) {
-        return tryAcquire(context).map(delegate -> new Listener() {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        return tryAcquire(context, permits).map(delegate -> new Listener() {
             @Override
             public void onSuccess() {
                 delegate.onSuccess();
@@ -87,6 +116,18 @@ public class BlockingLimiter<ContextT> implements Limiter<ContextT> {
                 delegate.onDropped();
                 unlock();
             }
+
+            @Override
+            public void onSuccess(double cost) {
+                delegate.onSuccess(cost);
+                unlock();
+            }
+
+            @Override
+            public void onDropped(double cost) {
+                delegate.onDropped(cost);
+                unlock();
+            }
         });
     }
 
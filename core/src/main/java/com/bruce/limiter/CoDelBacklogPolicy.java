@@ -0,0 +1,124 @@
+package com.bruce.limiter;
+
+import com.bruce.internal.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Backlog timeout policy inspired by CoDel (Controlled Delay).  It tracks the minimum time spent waiting
+ * in the backlog over each interval.  If even the minimum stays above the target for a whole interval,
+ * the backlog is a standing queue rather than a burst.  Waiters then get the short overload timeout
+ * instead of the configured one, until an interval again sees a delay below the target.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 17:18
+ * @Version 1.0
+ */
+public final class CoDelBacklogPolicy {
+
+    public static class Builder {
+        private long target = TimeUnit.MILLISECONDS.toNanos(5);
+        private long interval = TimeUnit.MILLISECONDS.toNanos(100);
+        private long overloadTimeout = TimeUnit.MILLISECONDS.toNanos(10);
+        private Supplier<Long> clock = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * Acceptable standing queue delay.
+         */
+        public Builder target(long target, TimeUnit units) {
+            Preconditions.checkArgument(target > 0, "Target must be > 0");
+            this.target = units.toNanos(target);
+            return this;
+        }
+
+        /**
+         * Window over which the minimum delay is tracked; should be a few times the typical RTT.
+         */
+        public Builder interval(long interval, TimeUnit units) {
+            Preconditions.checkArgument(interval > 0, "Interval must be > 0");
+            this.interval = units.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Backlog timeout applied while overloaded.
+         */
+        public Builder overloadTimeout(long timeout, TimeUnit units) {
+            this.overloadTimeout = units.toNanos(timeout);
+            return this;
+        }
+
+        public Builder clock(Supplier<Long> clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public CoDelBacklogPolicy build() {
+            return new CoDelBacklogPolicy(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private final long target;
+    private final long interval;
+    private final long overloadTimeout;
+    private final Supplier<Long> clock;
+    private final AtomicLong minDelay = new AtomicLong(Long.MAX_VALUE);
+    private volatile long intervalEnd;
+    private volatile boolean overloaded;
+
+    private CoDelBacklogPolicy(Builder builder) {
+        this.target = builder.target;
+        this.interval = builder.interval;
+        this.overloadTimeout = builder.overloadTimeout;
+        this.clock = builder.clock;
+        this.intervalEnd = clock.get() + interval;
+    }
+
+    /**
+     * Timeout to use for a new waiter given the timeout that would otherwise apply.
+     */
+    public long getTimeout(long timeout, TimeUnit units) {
+        if (!overloaded) {
+            return timeout;
+        }
+        return Math.min(timeout, units.convert(overloadTimeout, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Records the time a request spent in the backlog, whether it eventually got a permit or not.
+     * Requests that got a permit without waiting should be recorded with a delay of 0.
+     */
+    public void onDequeue(long delay, TimeUnit units) {
+        final long delayNanos = units.toNanos(delay);
+        minDelay.accumulateAndGet(delayNanos, Math::min);
+
+        final long now = clock.get();
+        final long end = intervalEnd;
+        if (now - end >= 0) {
+            synchronized (this) {
+                if (end == intervalEnd) {
+                    overloaded = minDelay.getAndSet(Long.MAX_VALUE) > target;
+                    intervalEnd = now + interval;
+                }
+            }
+        }
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    @Override
+    public String toString() {
+        return "CoDelBacklogPolicy [target=" + TimeUnit.NANOSECONDS.toMicros(target) / 1000.0 +
+                " ms, overloaded=" + overloaded + "]";
+    }
+}
@@ -0,0 +1,104 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.internal.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Acquires from several limiters as a unit, e.g. a concurrency limiter and a {@link TokenBucketLimiter}.
+ * Limiters are tried in order; if one rejects, the permits already acquired are released with
+ * {@link Listener#onIgnore()} so that they neither count nor affect the limit.  Put the limiter that
+ * rejects most often first.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 20:02
+ * @Version 1.0
+ */
+public final class CompositeLimiter<ContextT> implements Limiter<ContextT> {
+
+    @SafeVarargs
+    public static <ContextT> CompositeLimiter<ContextT> of(Limiter<ContextT>... limiters) {
+        final List<Limiter<ContextT>> list = new ArrayList<>(limiters.length);
+        for (Limiter<ContextT> limiter : limiters) {
+            list.add(limiter);
+        }
+        return new CompositeLimiter<>(list);
+    }
+
+    public static <ContextT> CompositeLimiter<ContextT> of(List<Limiter<ContextT>> limiters) {
+        return new CompositeLimiter<>(new ArrayList<>(limiters));
+    }
+
+    private final List<Limiter<ContextT>> limiters;
+
+    private CompositeLimiter(List<Limiter<ContextT>> limiters) {
+        Preconditions.checkArgument(!limiters.isEmpty(), "No limiter specified");
+        this.limiters = limiters;
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context) {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        final Listener[] listeners = new Listener[limiters.size()];
+        for (int i = 0; i < limiters.size(); i++) {
+            final Optional<Listener> listener = limiters.get(i).acquire(context, permits);
+            if (!listener.isPresent()) {
+                for (int j = i - 1; j >= 0; j--) {
+                    listeners[j].onIgnore();
+                }
+                return Optional.empty();
+            }
+            listeners[i] = listener.get();
+        }
+
+        return Optional.of(new Listener() {
+            @Override
+            public void onSuccess() {
+                for (Listener listener : listeners) {
+                    listener.onSuccess();
+                }
+            }
+
+            @Override
+            public void onIgnore() {
+                for (Listener listener : listeners) {
+                    listener.onIgnore();
+                }
+            }
+
+            @Override
+            public void onDropped() {
+                for (Listener listener : listeners) {
+                    listener.onDropped();
+                }
+            }
+
+            @Override
+            public void onSuccess(double cost) {
+                for (Listener listener : listeners) {
+                    listener.onSuccess(cost);
+                }
+            }
+
+            @Override
+            public void onDropped(double cost) {
+                for (Listener listener : listeners) {
+                    listener.onDropped(cost);
+                }
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "CompositeLimiter " + limiters;
+    }
+}
@@ -0,0 +1,252 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.internal.Preconditions;
+
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Limiter decorator that accounts for each request's own deadline.  A request is rejected up front when
+ * its remaining budget is less than the RTT the service is currently seeing, since it would most likely
+ * time out anyway.  Requests that can still make their deadline wait in a backlog ordered by deadline, and
+ * leave it as soon as they can no longer finish in time.
+ *
+ * <pre>
+ * WindowLimit limit = WindowLimit.newBuilder().build(Gradient2Limit.newDefault());
+ * Limiter&lt;Request&gt; limiter = DeadlineLimiter.newBuilder(SimpleLimiter.newBuilder().limit(limit).build())
+ *         .deadline(Request::getDeadlineNanos)
+ *         .expectedRtt(() -&gt; limit.getLastRtt(TimeUnit.NANOSECONDS))
+ *         .build();
+ * </pre>
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 15:52
+ * @Version 1.0
+ */
+public class DeadlineLimiter<ContextT> implements Limiter<ContextT> {
+
+    public static class Builder<ContextT> {
+        private final Limiter<ContextT> delegate;
+        private Function<ContextT, Long> deadline = context -> null;
+        private Supplier<Long> expectedRtt = () -> 0L;
+        private Supplier<Long> clock = System::nanoTime;
+        private int maxBacklogSize = 100;
+
+        private Builder(Limiter<ContextT> delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Absolute deadline of the request in {@link System#nanoTime()} units, or null if it has none.
+         */
+        public Builder<ContextT> deadline(Function<ContextT, Long> deadlineNanos) {
+            this.deadline = deadlineNanos;
+            return this;
+        }
+
+        /**
+         * RTT the service is currently seeing in nanoseconds, e.g. {@code WindowLimit.getLastRtt} or
+         * {@code Gradient2Limit.getLastRtt}.
+         */
+        public Builder<ContextT> expectedRtt(Supplier<Long> rttNanos) {
+            this.expectedRtt = rttNanos;
+            return this;
+        }
+
+        public Builder<ContextT> clock(Supplier<Long> clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder<ContextT> maxBacklogSize(int size) {
+            Preconditions.checkArgument(size >= 0, "Backlog size must be >= 0");
+            this.maxBacklogSize = size;
+            return this;
+        }
+
+        public DeadlineLimiter<ContextT> build() {
+            return new DeadlineLimiter<>(this);
+        }
+    }
+
+    public static <ContextT> Builder<ContextT> newBuilder(Limiter<ContextT> delegate) {
+        return new Builder<>(delegate);
+    }
+
+    private static class ListenerHolder<ContextT> implements Comparable<ListenerHolder<ContextT>> {
+        private volatile Optional<Listener> listener = Optional.empty();
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final ContextT context;
+        private final int permits;
+        private final long deadline;
+        private final long sequence;
+
+        ListenerHolder(ContextT context, int permits, long deadline, long sequence) {
+            this.context = context;
+            this.permits = permits;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+            return latch.await(timeout, unit);
+        }
+
+        void set(Optional<Listener> listener) {
+            this.listener = listener;
+            latch.countDown();
+        }
+
+        @Override
+        public int compareTo(ListenerHolder<ContextT> other) {
+            final int result = Long.compare(deadline - other.deadline, 0);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final Limiter<ContextT> delegate;
+    private final Function<ContextT, Long> deadline;
+    private final Supplier<Long> expectedRtt;
+    private final Supplier<Long> clock;
+    private final int maxBacklogSize;
+    private final PriorityQueue<ListenerHolder<ContextT>> backlog = new PriorityQueue<>();
+    private final Object lock = new Object();
+    private long sequence;
+
+    private DeadlineLimiter(Builder<ContextT> builder) {
+        this.delegate = builder.delegate;
+        this.deadline = builder.deadline;
+        this.expectedRtt = builder.expectedRtt;
+        this.clock = builder.clock;
+        this.maxBacklogSize = builder.maxBacklogSize;
+    }
+
+    private Optional<Listener> tryAcquire(ContextT context, int permits) {
+        final Long deadline = this.deadline.apply(context);
+        if (deadline == null) {
+            return delegate.acquire(context, permits);
+        }
+
+        final long budget = deadline - clock.get() - expectedRtt.get();
+        if (budget <= 0) {
+            return Optional.empty();
+        }
+
+        final ListenerHolder<ContextT> event;
+        synchronized (lock) {
+            // Waiters with earlier deadlines go first, so skip the backlog only when it is empty
+            if (backlog.isEmpty()) {
+                final Optional<Listener> listener = delegate.acquire(context, permits);
+                if (listener.isPresent()) {
+                    return listener;
+                }
+            }
+            if (backlog.size() >= maxBacklogSize) {
+                return Optional.empty();
+            }
+            event = new ListenerHolder<>(context, permits, deadline, sequence++);
+            backlog.add(event);
+            // A permit may have been released after the failed acquire but before the enqueue
+            unlock();
+        }
+
+        try {
+            if (!event.await(budget, TimeUnit.NANOSECONDS)) {
+                synchronized (lock) {
+                    if (backlog.remove(event)) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return event.listener;
+        } catch (InterruptedException e) {
+            final boolean removed;
+            synchronized (lock) {
+                removed = backlog.remove(event);
+            }
+            if (!removed && event.listener.isPresent()) {
+                event.listener.get().onIgnore();
+                unlock();
+            }
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private void unlock() {
+        synchronized (lock) {
+            while (!backlog.isEmpty()) {
+                final ListenerHolder<ContextT> event = backlog.peek();
+                if (event.deadline - clock.get() - expectedRtt.get() <= 0) {
+                    backlog.poll();
+                    event.set(Optional.empty());
+                    continue;
+                }
+
+                final Optional<Listener> listener = delegate.acquire(event.context, event.permits);
+                if (!listener.isPresent()) {
+                    return;
+                }
+                backlog.poll();
+                event.set(listener);
+            }
+        }
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context) {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        return tryAcquire(context, permits).map(delegate -> new Listener() {
+            @Override
+            public void onSuccess() {
+                delegate.onSuccess();
+                unlock();
+            }
+
+            @Override
+            public void onIgnore() {
+                delegate.onIgnore();
+                unlock();
+            }
+
+            @Override
+            public void onDropped() {
+                delegate.onDropped();
+                unlock();
+            }
+
+            @Override
+            public void onSuccess(double cost) {
+                delegate.onSuccess(cost);
+                unlock();
+            }
+
+            @Override
+            public void onDropped(double cost) {
+                delegate.onDropped(cost);
+                unlock();
+            }
+        });
+    }
+
+    public int getBacklogSize() {
+        synchronized (lock) {
+            return backlog.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlineLimiter [" + delegate + "]";
+    }
+}
@@ -0,0 +1,255 @@
+package com.bruce.limiter;
+
+import com.bruce.Limit;
+import com.bruce.Limiter;
+import com.bruce.MetricIds;
+import com.bruce.MetricRegistry;
+import com.bruce.internal.EmptyMetricRegistry;
+import com.bruce.internal.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Tree of limiters, e.g. global, then per service, then per tenant, where every node has its own adaptive
+ * {@link Limit}.  A request is resolved to a node and must be admitted by every node on the path from the
+ * root.  As with {@link AbstractPartitionedLimiter}, a node that is over its own limit may borrow from its
+ * parent, but only capacity that is not reserved for its siblings: the parent's inflight count plus the unused
+ * part of every child's limit must stay within the parent's limit.  The root never borrows.
+ *
+ * <p>Acquire adds the requested permits to each node's inflight counter from the root down and rolls the
+ * increments back if a node rejects, so no lock is taken.  Release decrements and samples every node on the path.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 20:40
+ * @Version 1.0
+ */
+public class HierarchicalLimiter<ContextT> implements Limiter<ContextT> {
+
+    private static final String NODE_TAG_NAME = "node";
+
+    public static class Builder<ContextT> {
+        private final String rootName;
+        private final Map<String, String> parents = new LinkedHashMap<>();
+        private final Map<String, Limit> limits = new LinkedHashMap<>();
+        private Function<ContextT, String> nodeResolver = context -> null;
+        private boolean borrowing = true;
+        private Supplier<Long> clock = System::nanoTime;
+        private MetricRegistry registry = EmptyMetricRegistry.INSTANCE;
+
+        private Builder(String rootName, Limit rootLimit) {
+            this.rootName = rootName;
+            this.limits.put(rootName, rootLimit);
+        }
+
+        public Builder<ContextT> node(String name, String parent, Limit limit) {
+            Preconditions.checkArgument(!limits.containsKey(name), "Duplicate node " + name);
+            Preconditions.checkArgument(limits.containsKey(parent), "Unknown parent " + parent + " for node " + name);
+            parents.put(name, parent);
+            limits.put(name, limit);
+            return this;
+        }
+
+        /**
+         * Maps a context to the name of the node it belongs to.  Unknown or null names resolve to the root.
+         */
+        public Builder<ContextT> nodeResolver(Function<ContextT, String> nodeResolver) {
+            this.nodeResolver = nodeResolver;
+            return this;
+        }
+
+        public Builder<ContextT> borrowing(boolean borrowing) {
+            this.borrowing = borrowing;
+            return this;
+        }
+
+        public Builder<ContextT> clock(Supplier<Long> clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder<ContextT> metricRegistry(MetricRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public HierarchicalLimiter<ContextT> build() {
+            return new HierarchicalLimiter<>(this);
+        }
+    }
+
+    public static <ContextT> Builder<ContextT> newBuilder(String rootName, Limit rootLimit) {
+        return new Builder<>(rootName, rootLimit);
+    }
+
+    static final class Node {
+        private final String name;
+        private final Limit limitAlgorithm;
+        private final AtomicInteger inflight = new AtomicInteger();
+        private volatile int limit;
+        private Node[] children = new Node[0];
+
+        Node(String name, Limit limitAlgorithm) {
+            this.name = name;
+            this.limitAlgorithm = limitAlgorithm;
+            this.limit = limitAlgorithm.getLimit();
+            limitAlgorithm.notifyOnChange(newLimit -> this.limit = newLimit);
+        }
+
+        int getLimit() {
+            return limit;
+        }
+
+        int getInflight() {
+            return inflight.get();
+        }
+
+        @Override
+        public String toString() {
+            return "Node [name=" + name + ", limit=" + limit + ", inflight=" + inflight.get() + "]";
+        }
+    }
+
+    private final Map<String, Node[]> paths;
+    private final Node[] rootPath;
+    private final Function<ContextT, String> nodeResolver;
+    private final boolean borrowing;
+    private final Supplier<Long> clock;
+
+    private HierarchicalLimiter(Builder<ContextT> builder) {
+        final Map<String, Node> nodes = new HashMap<>();
+        builder.limits.forEach((name, limit) -> {
+            Node node = new Node(name, limit);
+            nodes.put(name, node);
+            builder.registry.registerGauge(MetricIds.LIMIT_NAME, node::getLimit, NODE_TAG_NAME, name);
+            builder.registry.registerGauge(MetricIds.INFLIGHT_NAME, node::getInflight, NODE_TAG_NAME, name);
+        });
+
+        this.paths = new HashMap<>();
+        for (String name : builder.limits.keySet()) {
+            final List<Node> path = new ArrayList<>();
+            for (String current = name; current != null; current = builder.parents.get(current)) {
+                path.add(nodes.get(current));
+            }
+            Collections.reverse(path);
+            paths.put(name, path.toArray(new Node[0]));
+        }
+
+        final Map<String, List<Node>> children = new HashMap<>();
+        builder.parents.forEach((name, parent) -> children.computeIfAbsent(parent, key -> new ArrayList<>()).add(nodes.get(name)));
+        children.forEach((parent, list) -> nodes.get(parent).children = list.toArray(new Node[0]));
+
+        this.rootPath = paths.get(builder.rootName);
+        this.nodeResolver = builder.nodeResolver;
+        this.borrowing = builder.borrowing;
+        this.clock = builder.clock;
+    }
+
+    private Node[] resolvePath(ContextT context) {
+        final String name = nodeResolver.apply(context);
+        if (name == null) {
+            return rootPath;
+        }
+        final Node[] path = paths.get(name);
+        return path == null ? rootPath : path;
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context) {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        final Node[] path = resolvePath(context);
+        final int[] inflight = new int[path.length];
+
+        for (int i = 0; i < path.length; i++) {
+            final int current = path[i].inflight.addAndGet(permits);
+            inflight[i] = current;
+            if (AbstractLimiter.exceedsLimit(current - permits, permits, path[i].limit) && !canBorrow(path, inflight, i)) {
+                for (int j = i; j >= 0; j--) {
+                    path[j].inflight.addAndGet(-permits);
+                }
+                return Optional.empty();
+            }
+        }
+
+        final long startTime = clock.get();
+        return Optional.of(new Listener() {
+            @Override
+            public void onSuccess() {
+                release(path, permits, inflight, startTime, false, Double.NaN);
+            }
+
+            @Override
+            public void onIgnore() {
+                for (Node node : path) {
+                    node.inflight.addAndGet(-permits);
+                }
+            }
+
+            @Override
+            public void onDropped() {
+                release(path, permits, inflight, startTime, true, Double.NaN);
+            }
+
+            @Override
+            public void onSuccess(double cost) {
+                release(path, permits, inflight, startTime, false, cost);
+            }
+
+            @Override
+            public void onDropped(double cost) {
+                release(path, permits, inflight, startTime, true, cost);
+            }
+        });
+    }
+
+    private boolean canBorrow(Node[] path, int[] inflight, int index) {
+        if (!borrowing || index == 0) {
+            return false;
+        }
+
+        final Node parent = path[index - 1];
+        long claimed = inflight[index - 1];
+        for (Node child : parent.children) {
+            claimed += Math.max(0, child.limit - child.inflight.get());
+        }
+        return claimed <= parent.limit;
+    }
+
+    private void release(Node[] path, int permits, int[] inflight, long startTime, boolean didDrop, double cost) {
+        final long rtt = clock.get() - startTime;
+        for (int i = 0; i < path.length; i++) {
+            path[i].inflight.addAndGet(-permits);
+            if (Double.isNaN(cost)) {
+                path[i].limitAlgorithm.onSample(startTime, rtt, inflight[i], didDrop);
+            } else {
+                path[i].limitAlgorithm.onSample(startTime, rtt, inflight[i], didDrop, cost);
+            }
+        }
+    }
+
+    public int getLimit(String node) {
+        return paths.get(node)[paths.get(node).length - 1].getLimit();
+    }
+
+    public int getInflight(String node) {
+        return paths.get(node)[paths.get(node).length - 1].getInflight();
+    }
+
+    @Override
+    public String toString() {
+        return "HierarchicalLimiter [root=" + rootPath[0] + "]";
+    }
+}
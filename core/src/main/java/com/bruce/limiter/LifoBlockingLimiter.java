@@ -1,6 +1,7 @@
 package com.bruce.limiter;
 
 import com.bruce.Limiter;
+import com.bruce.internal.Preconditions;
 
 import java.util.Deque;
 import java.util.LinkedList;
@@ -21,6 +22,7 @@ public class LifoBlockingLimiter<ContextT> implements Limiter<ContextT> {
         private final Limiter<ContextT> delegate;
         private int maxBacklogSize = 100;
         private Function<ContextT, Long> maxBacklogTimeoutMillis = contextT -> 1000L;
+        private CoDelBacklogPolicy backlogPolicy;
 
         private Builder(Limiter<ContextT> delegate) {
             this.delegate = delegate;
@@ -45,6 +47,14 @@ public class LifoBlockingLimiter<ContextT> implements Limiter<ContextT> {
             return this;
         }
 
+        /**
+         * Shortens the backlog timeout while the backlog has become a standing queue.
+         */
+        public Builder<ContextT> backlogPolicy(CoDelBacklogPolicy backlogPolicy) {
+            this.backlogPolicy = backlogPolicy;
+            return this;
+        }
+
         public LifoBlockingLimiter<ContextT> build() {
             return new LifoBlockingLimiter<ContextT>(this);
         }
@@ -61,9 +71,11 @@ public class LifoBlockingLimiter<ContextT> implements Limiter<ContextT> {
         private volatile Optional<Listener> listener;
         private final CountDownLatch latch = new CountDownLatch(1);
         private ContextT context;
+        private final int permits;
 
-        public ListenerHolder(ContextT context) {
+        public ListenerHolder(ContextT context, int permits) {
             this.context = context;
+            this.permits = permits;
         }
 
         public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
@@ -85,17 +97,33 @@ public class LifoBlockingLimiter<ContextT> implements Limiter<ContextT> {
 
     private final Function<ContextT, Long> backlogTimeoutMillis;
 
+    private final CoDelBacklogPolicy backlogPolicy;
+
     private final Object lock = new Object();
 
     private LifoBlockingLimiter(Builder<ContextT> builder) {
         this.delegate = builder.delegate;
         this.backlogSize = builder.maxBacklogSize;
         backlogTimeoutMillis = builder.maxBacklogTimeoutMillis;
+        this.backlogPolicy = builder.backlogPolicy;
+    }
+
+    private long getBacklogTimeoutMillis(ContextT context) {
+        final long timeout = backlogTimeoutMillis.apply(context);
+        return backlogPolicy == null ? timeout : backlogPolicy.getTimeout(timeout, TimeUnit.MILLISECONDS);
     }
 
-    private Optional<Listener> tryAcquire(ContextT context) {
-        final Optional<Listener> listener = delegate.acquire(context);
+    private void onDequeue(long startTime) {
+        if (backlogPolicy != null) {
+            backlogPolicy.onDequeue(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Optional<Listener> tryAcquire(ContextT context, int permits) {
+        final long startTime = System.nanoTime();
+        final Optional<Listener> listener = delegate.acquire(context, permits);
         if (listener.isPresent()) {
+            onDequeue(startTime);
             return listener;
         }
 
@@ -104,19 +132,21 @@ public class LifoBlockingLimiter<ContextT> implements Limiter<ContextT> {
         }
 
         backlogCounter.incrementAndGet();
-        final ListenerHolder<ContextT> event = new ListenerHolder<>(context);
+        final ListenerHolder<ContextT> event = new ListenerHolder<>(context, permits);
 
         try {
             synchronized (lock) {
                 backlog.addFirst(event);
             }
 
-            if (!event.await(backlogTimeoutMillis.apply(context), TimeUnit.MILLISECONDS)) {
+            if (!event.await(getBacklogTimeoutMillis(context), TimeUnit.MILLISECONDS)) {
                 synchronized (lock) {
                     backlog.removeLastOccurrence(event);
                 }
+                onDequeue(startTime);
                 return Optional.empty();
             }
+            onDequeue(startTime);
             return event.listener;
         } catch (InterruptedException e) {
             synchronized (lock) {
@@ -133,7 +163,7 @@ public class LifoBlockingLimiter<ContextT> implements Limiter<ContextT> {
         synchronized (lock) {
             if (!backlog.isEmpty()) {
                 final ListenerHolder<ContextT> event = backlog.peekFirst();
-                final Optional<Listener> listener = delegate.acquire(event.context);
+                final Optional<Listener> listener = delegate.acquire(event.context, event.permits);
                 if (listener.isPresent()) {
                     backlog.removeFirst();
                     event.set(listener);
@@ -146,7 +176,13 @@ public class LifoBlockingLimiter<ContextT> implements Limiter<ContextT> {
 
     @Override
     public Optional<Listener> acquire(ContextT context) {
-        return tryAcquire(context).map(delegate -> {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        return tryAcquire(context, permits).map(delegate -> {
             return new Listener() {
                 @Override
                 public void onSuccess() {
@@ -165,6 +201,18 @@ public class LifoBlockingLimiter<ContextT> implements Limiter<ContextT> {
                     delegate.onDropped();
                     unlock();
                 }
+
+                @Override
+                public void onSuccess(double cost) {
+                    delegate.onSuccess(cost);
+                    unlock();
+                }
+
+                @Override
+                public void onDropped(double cost) {
+                    delegate.onDropped(cost);
+                    unlock();
+                }
             };
         });
     }
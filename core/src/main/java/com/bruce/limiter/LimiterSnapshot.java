@@ -0,0 +1,75 @@
+package com.bruce.limiter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable state of an {@link AbstractLimiter} at one point in time.  The estimate and rtt_noload come from
+ * the limit algorithm when it supports snapshots, and are NaN and -1 otherwise; for Gradient2 the rtt is the
+ * long-term average.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 02:10
+ * @Version 1.0
+ */
+public final class LimiterSnapshot {
+
+    private final int limit;
+    private final int inflight;
+    private final int streamsInflight;
+    private final long rejectedCount;
+    private final double estimateLimit;
+    private final long rttNoLoadNanos;
+    private final List<PartitionSnapshot> partitions;
+
+    public LimiterSnapshot(int limit, int inflight, int streamsInflight, long rejectedCount,
+                           double estimateLimit, long rttNoLoadNanos, List<PartitionSnapshot> partitions) {
+        this.limit = limit;
+        this.inflight = inflight;
+        this.streamsInflight = streamsInflight;
+        this.rejectedCount = rejectedCount;
+        this.estimateLimit = estimateLimit;
+        this.rttNoLoadNanos = rttNoLoadNanos;
+        this.partitions = Collections.unmodifiableList(partitions);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight;
+    }
+
+    public int getStreamsInflight() {
+        return streamsInflight;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public double getEstimateLimit() {
+        return estimateLimit;
+    }
+
+    public long getRttNoLoadNanos() {
+        return rttNoLoadNanos;
+    }
+
+    public List<PartitionSnapshot> getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    public String toString() {
+        return "LimiterSnapshot [limit=" + limit +
+                ", inflight=" + inflight +
+                ", streams=" + streamsInflight +
+                ", rejected=" + rejectedCount +
+                ", estimate=" + estimateLimit +
+                ", rtt_noload=" + TimeUnit.NANOSECONDS.toMicros(rttNoLoadNanos) / 1000.0 + " ms" +
+                ", partitions=" + partitions + "]";
+    }
+}
@@ -0,0 +1,48 @@
+package com.bruce.limiter;
+
+/**
+ * @Author: Bruce
+ * @Date: 2026/10/20 02:10
+ * @Version 1.0
+ */
+public final class PartitionSnapshot {
+
+    private final String name;
+    private final double percent;
+    private final int limit;
+    private final int inflight;
+    private final long rejectedCount;
+
+    public PartitionSnapshot(String name, double percent, int limit, int inflight, long rejectedCount) {
+        this.name = name;
+        this.percent = percent;
+        this.limit = limit;
+        this.inflight = inflight;
+        this.rejectedCount = rejectedCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPercent() {
+        return percent;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionSnapshot [name=" + name + ", pct=" + percent + ", limit=" + limit + ", busy=" + inflight + ", rejected=" + rejectedCount + "]";
+    }
+}
@@ -0,0 +1,376 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.internal.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Limiter with a separate backlog per priority class.  When a permit is released the next waiter is taken
+ * either from the highest priority non-empty class (strict) or according to the class weights (weighted
+ * round-robin), so critical traffic can overtake batch traffic.  New requests only bypass the backlogs while
+ * they are empty.  Backlogs are lock-free deques drained by one thread at a time, and the weighted schedule is
+ * precomputed, so the release path does a constant amount of work per class.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 16:30
+ * @Version 1.0
+ */
+public class PriorityLimiter<ContextT> implements Limiter<ContextT> {
+
+    public enum Scheduling {
+        STRICT,
+        WEIGHTED
+    }
+
+    public static class Builder<ContextT> {
+        private final Limiter<ContextT> delegate;
+        private final List<PriorityClass> classes = new ArrayList<>();
+        private Function<ContextT, Integer> priorityResolver = context -> 0;
+        private Scheduling scheduling = Scheduling.STRICT;
+
+        private Builder(Limiter<ContextT> delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Maps a context to the index of its priority class, 0 being the highest priority.  Unknown or
+         * out of range values are treated as the lowest priority.
+         */
+        public Builder<ContextT> priorityResolver(Function<ContextT, Integer> priorityResolver) {
+            this.priorityResolver = priorityResolver;
+            return this;
+        }
+
+        /**
+         * Adds the next, lower, priority class.
+         */
+        public Builder<ContextT> priorityClass(int weight, int maxBacklogSize, long timeout, TimeUnit units) {
+            Preconditions.checkArgument(weight >= 1, "Weight must be >= 1");
+            Preconditions.checkArgument(maxBacklogSize >= 0, "Backlog size must be >= 0");
+            classes.add(new PriorityClass(weight, maxBacklogSize, units.toNanos(timeout)));
+            return this;
+        }
+
+        public Builder<ContextT> scheduling(Scheduling scheduling) {
+            this.scheduling = scheduling;
+            return this;
+        }
+
+        public PriorityLimiter<ContextT> build() {
+            if (classes.isEmpty()) {
+                priorityClass(1, 100, 1, TimeUnit.SECONDS);
+            }
+            return new PriorityLimiter<>(this);
+        }
+    }
+
+    public static <ContextT> Builder<ContextT> newBuilder(Limiter<ContextT> delegate) {
+        return new Builder<>(delegate);
+    }
+
+    private static final class PriorityClass {
+        private final int weight;
+        private final int maxBacklogSize;
+        private final long timeoutNanos;
+        private final Deque<Waiter<?>> backlog = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger backlogSize = new AtomicInteger();
+
+        PriorityClass(int weight, int maxBacklogSize, long timeoutNanos) {
+            this.weight = weight;
+            this.maxBacklogSize = maxBacklogSize;
+            this.timeoutNanos = timeoutNanos;
+        }
+    }
+
+    private static final class Waiter<ContextT> {
+        private final ContextT context;
+        private final int permits;
+        private final PriorityClass priorityClass;
+        private final CompletableFuture<Optional<Listener>> future = new CompletableFuture<>();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Waiter(ContextT context, int permits, PriorityClass priorityClass) {
+            this.context = context;
+            this.permits = permits;
+            this.priorityClass = priorityClass;
+        }
+
+        boolean expire() {
+            if (done.compareAndSet(false, true)) {
+                priorityClass.backlogSize.decrementAndGet();
+                future.complete(Optional.empty());
+                return true;
+            }
+            return false;
+        }
+
+        boolean grant(Listener listener) {
+            if (done.compareAndSet(false, true)) {
+                priorityClass.backlogSize.decrementAndGet();
+                future.complete(Optional.of(listener));
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static final class TimeoutScheduler {
+        static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "priority-limiter-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Timeouts of granted waiters are cancelled and should not linger until they would have fired
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    private final Limiter<ContextT> delegate;
+    private final PriorityClass[] classes;
+    private final Function<ContextT, Integer> priorityResolver;
+    private final int[] schedule;
+    private final AtomicLong ticket = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private PriorityLimiter(Builder<ContextT> builder) {
+        this.delegate = builder.delegate;
+        this.classes = builder.classes.toArray(new PriorityClass[0]);
+        this.priorityResolver = builder.priorityResolver;
+        this.schedule = createSchedule(this.classes, builder.scheduling);
+    }
+
+    /**
+     * Sequence of class indexes to serve in turn.  Strict scheduling always starts from the highest
+     * priority, weighted scheduling interleaves classes in proportion to their weight.
+     */
+    private static int[] createSchedule(PriorityClass[] classes, Scheduling scheduling) {
+        if (scheduling == Scheduling.STRICT) {
+            return new int[] {0};
+        }
+
+        final List<Integer> schedule = new ArrayList<>();
+        boolean added = true;
+        for (int round = 0; added; round++) {
+            added = false;
+            for (int i = 0; i < classes.length; i++) {
+                if (round < classes[i].weight) {
+                    schedule.add(i);
+                    added = true;
+                }
+            }
+        }
+        return schedule.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private PriorityClass resolve(ContextT context) {
+        final Integer priority = priorityResolver.apply(context);
+        if (priority == null || priority < 0 || priority >= classes.length) {
+            return classes[classes.length - 1];
+        }
+        return classes[priority];
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context) {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        final PriorityClass priorityClass = resolve(context);
+        if (!hasBacklog()) {
+            final Optional<Listener> listener = delegate.acquire(context, permits);
+            if (listener.isPresent()) {
+                return Optional.of(wrap(listener.get()));
+            }
+        }
+
+        final Waiter<ContextT> waiter = enqueue(context, permits, priorityClass);
+        if (waiter == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return waiter.future.get(priorityClass.timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Either expire the waiter or pick up the permit that was granted concurrently
+            return waiter.expire() ? Optional.empty() : waiter.future.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!waiter.expire()) {
+                waiter.future.join().ifPresent(Listener::onIgnore);
+            }
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #acquire(Object)}.  The returned future completes once a permit is granted
+     * or with an empty result when the backlog is full or the class timeout expires.
+     */
+    public CompletableFuture<Optional<Listener>> acquireAsync(ContextT context) {
+        return acquireAsync(context, 1);
+    }
+
+    public CompletableFuture<Optional<Listener>> acquireAsync(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        final PriorityClass priorityClass = resolve(context);
+        if (!hasBacklog()) {
+            final Optional<Listener> listener = delegate.acquire(context, permits);
+            if (listener.isPresent()) {
+                return CompletableFuture.completedFuture(Optional.of(wrap(listener.get())));
+            }
+        }
+
+        final Waiter<ContextT> waiter = enqueue(context, permits, priorityClass);
+        if (waiter == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        if (!waiter.future.isDone()) {
+            final ScheduledFuture<?> timeout = TimeoutScheduler.INSTANCE.schedule(waiter::expire, priorityClass.timeoutNanos, TimeUnit.NANOSECONDS);
+            waiter.future.whenComplete((listener, error) -> timeout.cancel(false));
+        }
+        return waiter.future;
+    }
+
+    private Waiter<ContextT> enqueue(ContextT context, int permits, PriorityClass priorityClass) {
+        if (priorityClass.backlogSize.incrementAndGet() > priorityClass.maxBacklogSize) {
+            priorityClass.backlogSize.decrementAndGet();
+            return null;
+        }
+
+        final Waiter<ContextT> waiter = new Waiter<>(context, permits, priorityClass);
+        priorityClass.backlog.offerLast(waiter);
+
+        // A permit may be free, either released before joining the backlog or because waiters were ahead
+        drain();
+        return waiter;
+    }
+
+    private boolean hasBacklog() {
+        for (PriorityClass priorityClass : classes) {
+            if (priorityClass.backlogSize.get() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Only one thread drains at a time.  A release or enqueue that happens while another thread is draining
+     * makes that thread go around again, so a permit freed after its failed acquire is not lost.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            drainBacklogs();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainBacklogs() {
+        while (true) {
+            final Waiter<ContextT> waiter = nextWaiter();
+            if (waiter == null) {
+                return;
+            }
+
+            final Optional<Listener> listener = delegate.acquire(waiter.context, waiter.permits);
+            if (!listener.isPresent()) {
+                return;
+            }
+
+            // Only the draining thread removes waiters, so the head is still the waiter that was peeked
+            waiter.priorityClass.backlog.pollFirst();
+            ticket.incrementAndGet();
+            if (!waiter.grant(wrap(listener.get()))) {
+                listener.get().onIgnore();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Waiter<ContextT> nextWaiter() {
+        final int start = schedule[(int)(ticket.get() % schedule.length)];
+        for (int i = 0; i < classes.length; i++) {
+            final Deque<Waiter<?>> backlog = classes[(start + i) % classes.length].backlog;
+            Waiter<?> waiter;
+            while ((waiter = backlog.peekFirst()) != null) {
+                if (!waiter.done.get()) {
+                    return (Waiter<ContextT>) waiter;
+                }
+                backlog.pollFirst();
+            }
+        }
+        return null;
+    }
+
+    private Listener wrap(Listener delegate) {
+        return new Listener() {
+            @Override
+            public void onSuccess() {
+                delegate.onSuccess();
+                drain();
+            }
+
+            @Override
+            public void onIgnore() {
+                delegate.onIgnore();
+                drain();
+            }
+
+            @Override
+            public void onDropped() {
+                delegate.onDropped();
+                drain();
+            }
+
+            @Override
+            public void onSuccess(double cost) {
+                delegate.onSuccess(cost);
+                drain();
+            }
+
+            @Override
+            public void onDropped(double cost) {
+                delegate.onDropped(cost);
+                drain();
+            }
+        };
+    }
+
+    public int getBacklogSize(int priority) {
+        return classes[priority].backlogSize.get();
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityLimiter [" + delegate + "]";
+    }
+}
@@ -2,6 +2,7 @@ package com.bruce.limiter;
 
 import com.bruce.MetricIds;
 import com.bruce.MetricRegistry;
+import com.bruce.internal.Preconditions;
 import com.bruce.limit.AbstractLimit;
 
 import java.util.Optional;
@@ -39,11 +40,18 @@ public class SimpleLimiter<ContextT> extends AbstractLimiter<ContextT> {
 
     @Override
     public Optional<Listener> acquire(ContextT context) {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
         int currentInFlight = getInflight();
         inflightDistribution.addSample(currentInFlight);
-        if (currentInFlight >= getLimit()) {
+        if (exceedsLimit(currentInFlight, permits, getLimit())) {
+            onRejected();
             return Optional.empty();
         }
-        return Optional.of(createListener());
+        return Optional.of(createListener(permits));
     }
 }
@@ -0,0 +1,119 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.internal.Preconditions;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Requests-per-second limiter implementing the generic cell rate algorithm (GCRA), which is equivalent to
+ * a token bucket but only needs a single timestamp of state.  Acquire is one CAS on the theoretical arrival
+ * time and does not allocate.  {@link Listener#onIgnore()} refunds the permit so the limiter can be rolled
+ * back when composed with other limiters; success and drop are no-ops since rate is not adaptive.  A weighted
+ * acquire takes one token per permit; a request for more permits than the burst is only admitted when the
+ * bucket is full and leaves it in debt.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 19:48
+ * @Version 1.0
+ */
+public class TokenBucketLimiter<ContextT> implements Limiter<ContextT> {
+
+    public static class Builder {
+        private long interval = TimeUnit.MILLISECONDS.toNanos(1);
+        private int burst = 1;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {}
+
+        public Builder rate(long permits, TimeUnit per) {
+            Preconditions.checkArgument(permits > 0, "Permits must be > 0");
+            this.interval = Math.max(1, per.toNanos(1) / permits);
+            return this;
+        }
+
+        /**
+         * Number of requests that may be admitted back to back after the limiter has been idle.
+         */
+        public Builder burst(int burst) {
+            Preconditions.checkArgument(burst >= 1, "Burst must be >= 1");
+            this.burst = burst;
+            return this;
+        }
+
+        public Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public <ContextT> TokenBucketLimiter<ContextT> build() {
+            return new TokenBucketLimiter<>(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private final long interval;
+    private final long tolerance;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrivalTime;
+    private final int burst;
+    private final Optional<Listener> listener;
+
+    private TokenBucketLimiter(Builder builder) {
+        this.interval = builder.interval;
+        this.tolerance = builder.interval * builder.burst;
+        this.burst = builder.burst;
+        this.clock = builder.clock;
+        this.theoreticalArrivalTime = new AtomicLong(clock.getAsLong());
+        this.listener = Optional.of(newListener(interval));
+    }
+
+    private Listener newListener(long refund) {
+        return new Listener() {
+            @Override
+            public void onSuccess() {
+            }
+
+            @Override
+            public void onIgnore() {
+                theoreticalArrivalTime.addAndGet(-refund);
+            }
+
+            @Override
+            public void onDropped() {
+            }
+        };
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context) {
+        return acquire(context, 1);
+    }
+
+    @Override
+    public Optional<Listener> acquire(ContextT context, int permits) {
+        Preconditions.checkArgument(permits >= 1, "Permits must be >= 1");
+        final long now = clock.getAsLong();
+        while (true) {
+            final long current = theoreticalArrivalTime.get();
+            final long start = current - now > 0 ? current : now;
+            if (start + interval * Math.min(permits, burst) - now > tolerance) {
+                return Optional.empty();
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, start + interval * permits)) {
+                return permits == 1 ? listener : Optional.of(newListener(interval * permits));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucketLimiter [rate=" + TimeUnit.SECONDS.toNanos(1) / interval + "/s, burst=" + tolerance / interval + "]";
+    }
+}
@@ -0,0 +1,92 @@
+package com.bruce.limiter.jmx;
+
+import com.bruce.internal.Preconditions;
+import com.bruce.limiter.AbstractLimiter;
+import com.bruce.limiter.LimiterSnapshot;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registers limiters as {@link LimiterMXBean}s under {@code com.bruce.limit:type=Limiter,name=<name>}.  Each
+ * read takes a lock-free snapshot of the limiter, so polling many limiters is cheap.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 02:25
+ * @Version 1.0
+ */
+public final class LimiterMBeans {
+
+    public static final String DOMAIN = "com.bruce.limit";
+
+    private static final class Adapter implements LimiterMXBean {
+        private final AbstractLimiter<?> limiter;
+
+        Adapter(AbstractLimiter<?> limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public LimiterSnapshot getSnapshot() {
+            return limiter.snapshot();
+        }
+
+        @Override
+        public int getLimit() {
+            return limiter.getLimit();
+        }
+
+        @Override
+        public int getInflight() {
+            return limiter.getInflight();
+        }
+
+        @Override
+        public long getRejectedCount() {
+            return limiter.getRejectedCount();
+        }
+    }
+
+    public static ObjectName objectName(String name) {
+        Preconditions.checkArgument(name != null, "Limiter name may not be null");
+        try {
+            return new ObjectName(DOMAIN + ":type=Limiter,name=" + ObjectName.quote(name));
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid limiter name " + name, e);
+        }
+    }
+
+    public static ObjectName register(String name, AbstractLimiter<?> limiter) {
+        return register(ManagementFactory.getPlatformMBeanServer(), name, limiter);
+    }
+
+    public static ObjectName register(MBeanServer server, String name, AbstractLimiter<?> limiter) {
+        final ObjectName objectName = objectName(name);
+        try {
+            server.registerMBean(new Adapter(limiter), objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register limiter " + name, e);
+        }
+        return objectName;
+    }
+
+    public static void unregister(String name) {
+        unregister(ManagementFactory.getPlatformMBeanServer(), name);
+    }
+
+    public static void unregister(MBeanServer server, String name) {
+        try {
+            server.unregisterMBean(objectName(name));
+        } catch (InstanceNotFoundException e) {
+            // Already unregistered
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to unregister limiter " + name, e);
+        }
+    }
+
+    private LimiterMBeans() {}
+}
@@ -0,0 +1,22 @@
+package com.bruce.limiter.jmx;
+
+import com.bruce.limiter.LimiterSnapshot;
+
+/**
+ * Management view of a limiter.  Pollers should prefer {@link #getSnapshot()}, which returns all values from
+ * the same point in time as one composite attribute.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 02:25
+ * @Version 1.0
+ */
+public interface LimiterMXBean {
+
+    LimiterSnapshot getSnapshot();
+
+    int getLimit();
+
+    int getInflight();
+
+    long getRejectedCount();
+}
@@ -0,0 +1,237 @@
+package com.bruce.executors;
+
+import com.bruce.Limit;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limit.SettableLimit;
+import com.bruce.limiter.SimpleLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class AdaptiveExecutorServiceTest {
+
+    private static class RecordingLimit implements Limit {
+        final AtomicInteger successes = new AtomicInteger();
+        final AtomicInteger drops = new AtomicInteger();
+        final int limit;
+
+        RecordingLimit(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public void notifyOnChange(Consumer<Integer> consumer) {
+        }
+
+        @Override
+        public void onSample(long startTime, long rtt, int inflight, boolean didDrop) {
+            (didDrop ? drops : successes).incrementAndGet();
+        }
+    }
+
+    @Test
+    public void queuesBeyondLimitAndRejectsWhenQueueIsFull() throws Exception {
+        AdaptiveExecutorService executor = AdaptiveExecutorService
+                .newBuilder(SimpleLimiter.newBuilder().limit(FixedLimit.of(2)).build())
+                .maxQueueSize(3)
+                .build();
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(executor.submit(() -> {
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                started.countDown();
+                release.await();
+                concurrent.decrementAndGet();
+                return null;
+            }));
+        }
+
+        Assert.assertEquals(3, executor.getQueueSize());
+        try {
+            executor.execute(() -> {});
+            Assert.fail("Expected rejection");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(2, maxConcurrent.get());
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void reportsFailedSubmitAsIgnoredOrDropped() throws Exception {
+        RecordingLimit limit = new RecordingLimit(2);
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(limit).build();
+        AdaptiveExecutorService executor = AdaptiveExecutorService.newBuilder(limiter).build();
+
+        Future<?> failed = executor.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        Future<?> overloaded = executor.submit(() -> {
+            throw new RejectedExecutionException("overloaded");
+        });
+        for (Future<?> future : Arrays.asList(failed, overloaded)) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                Assert.fail("Expected failure");
+            } catch (ExecutionException e) {
+                // expected
+            }
+        }
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, limit.successes.get());
+        Assert.assertEquals(1, limit.drops.get());
+        Assert.assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    public void reportsEachInvokeAllOutcome() throws Exception {
+        RecordingLimit limit = new RecordingLimit(1);
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(limit).build();
+        AdaptiveExecutorService executor = AdaptiveExecutorService.newBuilder(limiter).build();
+
+        List<Callable<String>> tasks = Arrays.asList(
+                () -> "ok",
+                () -> {
+                    throw new IllegalStateException("boom");
+                },
+                () -> "ok");
+        List<Future<String>> futures = executor.invokeAll(tasks);
+
+        Assert.assertEquals("ok", futures.get(0).get());
+        Assert.assertEquals("ok", futures.get(2).get());
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(2, limit.successes.get());
+        Assert.assertEquals(0, limit.drops.get());
+        Assert.assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    public void releasesPermitWhenTaskThrowsError() {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build();
+        AdaptiveExecutorService executor = AdaptiveExecutorService.newBuilder(limiter).executor(Runnable::run).build();
+
+        try {
+            executor.execute(() -> {
+                throw new AssertionError("fatal");
+            });
+            Assert.fail("Expected error");
+        } catch (AssertionError e) {
+            Assert.assertEquals("fatal", e.getMessage());
+        }
+        Assert.assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    public void shutdownNowReturnsQueuedTasks() throws Exception {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build();
+        AdaptiveExecutorService executor = AdaptiveExecutorService.newBuilder(limiter).build();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.incrementAndGet();
+        });
+        executor.execute(ran::incrementAndGet);
+        executor.execute(ran::incrementAndGet);
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Runnable> pending = executor.shutdownNow();
+        Assert.assertEquals(2, pending.size());
+        Assert.assertEquals(0, executor.getQueueSize());
+        Assert.assertFalse(executor.isTerminated());
+
+        release.countDown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, ran.get());
+        Assert.assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    public void dispatchesDirectlyWhenQueueIsFullButPermitIsFree() {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build();
+        List<Runnable> held = new ArrayList<>();
+        AdaptiveExecutorService executor = AdaptiveExecutorService.newBuilder(limiter)
+                .executor(held::add)
+                .maxQueueSize(0)
+                .build();
+
+        executor.execute(() -> {});
+        Assert.assertEquals(1, held.size());
+        Assert.assertEquals(1, limiter.getInflight());
+        try {
+            executor.execute(() -> {});
+            Assert.fail("Expected rejection");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        held.get(0).run();
+        Assert.assertEquals(0, limiter.getInflight());
+        executor.execute(() -> {});
+        Assert.assertEquals(2, held.size());
+    }
+
+    @Test
+    public void queuedTasksRunBeforeNewArrivalsWhenQueueIsFull() {
+        SettableLimit limit = SettableLimit.startingAt(1);
+        List<Runnable> held = new ArrayList<>();
+        List<String> ran = new ArrayList<>();
+        AdaptiveExecutorService executor = AdaptiveExecutorService.newBuilder(SimpleLimiter.newBuilder().limit(limit).build())
+                .executor(held::add)
+                .maxQueueSize(1)
+                .build();
+
+        executor.execute(() -> ran.add("first"));
+        executor.execute(() -> ran.add("queued"));
+        Assert.assertEquals(1, executor.getQueueSize());
+
+        // Frees a permit without a completion, so nothing has drained the queue yet
+        limit.setLimit(2);
+        executor.execute(() -> ran.add("arrival"));
+        Assert.assertEquals(2, held.size());
+        Assert.assertEquals(1, executor.getQueueSize());
+
+        held.get(1).run();
+        Assert.assertEquals("[queued]", ran.toString());
+    }
+}
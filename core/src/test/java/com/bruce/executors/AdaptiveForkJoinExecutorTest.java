@@ -0,0 +1,70 @@
+package com.bruce.executors;
+
+import com.bruce.limit.FixedLimit;
+import com.bruce.limiter.SimpleLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveForkJoinExecutorTest {
+
+    @Test
+    public void runsInlineOnceLimitIsReached() throws Exception {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        AdaptiveForkJoinExecutor executor = new AdaptiveForkJoinExecutor(limiter, pool);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ForkJoinTask<Thread> forked = executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return Thread.currentThread();
+        });
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, limiter.getInflight());
+
+        ForkJoinTask<Thread> inline = executor.submit(Thread::currentThread);
+        Assert.assertTrue(inline.isDone());
+        Assert.assertSame(Thread.currentThread(), inline.join());
+
+        release.countDown();
+        Assert.assertNotSame(Thread.currentThread(), forked.join());
+        Assert.assertEquals(0, limiter.getInflight());
+        pool.shutdown();
+    }
+
+    @Test
+    public void reportsExceptionsAtJoin() {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        AdaptiveForkJoinExecutor executor = new AdaptiveForkJoinExecutor(limiter, pool);
+
+        CountDownLatch release = new CountDownLatch(1);
+        ForkJoinTask<Object> forked = executor.submit(() -> {
+            release.await();
+            throw new IllegalStateException("forked");
+        });
+        ForkJoinTask<Object> inline = executor.submit(() -> {
+            throw new IllegalStateException("inline");
+        });
+        Assert.assertTrue(inline.isCompletedAbnormally());
+        release.countDown();
+
+        for (ForkJoinTask<Object> task : Arrays.asList(forked, inline)) {
+            try {
+                task.join();
+                Assert.fail("Expected exception");
+            } catch (RuntimeException e) {
+                // expected
+            }
+        }
+        Assert.assertEquals(0, limiter.getInflight());
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,68 @@
+package com.bruce.limit;
+
+import com.bruce.limit.config.LimitConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AutoTuningLimitTest {
+
+    @Test
+    public void climbsToBestGoodputWithinLatencyTarget() {
+        // Throughput grows with x, but latency exceeds the 5ms target once x goes above 54
+        LimitConfig config = new LimitConfig();
+        AtomicLong clock = new AtomicLong();
+        AutoTuningLimit limit = AutoTuningLimit.newBuilder()
+                .parameter("x", 10, 0, 100)
+                .latencyTarget(5, TimeUnit.MILLISECONDS)
+                .window(10)
+                .clock(clock::get)
+                .build(FixedLimit.of(10), config);
+
+        Assert.assertEquals(10, config.current().getDouble("x", 0), 0.0);
+
+        for (int i = 0; i < 2000; i++) {
+            double x = config.current().getDouble("x", 0);
+            clock.addAndGet((long)(TimeUnit.MILLISECONDS.toNanos(1) / (1 + x)));
+            long rtt = TimeUnit.MILLISECONDS.toNanos(1) + (long)(Math.max(0, x - 50) * TimeUnit.MILLISECONDS.toNanos(1));
+            limit.onSample(0, rtt, 1, false);
+        }
+
+        double tuned = limit.getParameters().get("x");
+        Assert.assertTrue("tuned x=" + tuned, tuned > 50 && tuned <= 54);
+    }
+
+    @Test
+    public void concurrentSamplesCloseWindows() throws Exception {
+        LimitConfig config = new LimitConfig();
+        AutoTuningLimit limit = AutoTuningLimit.newBuilder()
+                .parameter("x", 10, 0, 100)
+                .window(10)
+                .build(FixedLimit.of(10), config);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    limit.onSample(0, TimeUnit.MILLISECONDS.toNanos(1), 1, i % 10 == 0);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Assert.assertTrue(limit.getLastScore() > 0);
+        double x = limit.getParameters().get("x");
+        Assert.assertTrue(x >= 0 && x <= 100);
+    }
+}
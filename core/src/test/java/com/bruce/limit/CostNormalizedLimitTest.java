@@ -0,0 +1,75 @@
+package com.bruce.limit;
+
+import com.bruce.Limit;
+import com.bruce.Limiter;
+import com.bruce.limiter.SimpleLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class CostNormalizedLimitTest {
+
+    private static class RecordingLimit implements Limit {
+        final List<Long> rtts = new ArrayList<>();
+
+        @Override
+        public int getLimit() {
+            return 10;
+        }
+
+        @Override
+        public void notifyOnChange(Consumer<Integer> consumer) {
+        }
+
+        @Override
+        public void onSample(long startTime, long rtt, int inflight, boolean didDrop) {
+            rtts.add(rtt);
+        }
+    }
+
+    @Test
+    public void scalesRttByCostRelativeToReference() {
+        RecordingLimit recording = new RecordingLimit();
+        CostNormalizedLimit limit = CostNormalizedLimit.newBuilder().smoothing(0.5).build(recording);
+
+        limit.onSample(0, 1000, 1, false, 10.0);
+        limit.onSample(0, 50000, 1, false, 500.0);
+        limit.onSample(0, 2000, 1, false, 10.0);
+
+        // The reference moves 10 -> 255 -> 132.5, each rtt is scaled by reference / cost
+        Assert.assertEquals(132.5, limit.getReferenceCost(), 0.0);
+        Assert.assertEquals(1000, (long)recording.rtts.get(0));
+        Assert.assertEquals(25500, (long)recording.rtts.get(1));
+        Assert.assertEquals(26500, (long)recording.rtts.get(2));
+    }
+
+    @Test
+    public void mixedCostsAtSameSpeedProduceStableRtt() {
+        RecordingLimit recording = new RecordingLimit();
+        CostNormalizedLimit limit = CostNormalizedLimit.wrap(recording);
+
+        for (int i = 0; i < 1000; i++) {
+            double cost = i % 2 == 0 ? 1.0 : 200.0;
+            limit.onSample(0, (long)(cost * 1000), 1, false, cost);
+        }
+
+        long last = recording.rtts.get(recording.rtts.size() - 1);
+        long previous = recording.rtts.get(recording.rtts.size() - 2);
+        Assert.assertEquals(previous, last, previous * 0.05);
+    }
+
+    @Test
+    public void passesThroughSamplesWithoutCost() {
+        RecordingLimit recording = new RecordingLimit();
+        Limiter<Void> limiter = SimpleLimiter.newBuilder().limit(CostNormalizedLimit.wrap(recording)).build();
+
+        limiter.acquire(null).get().onSuccess();
+        limiter.acquire(null).get().onSuccess(Double.NaN);
+        limiter.acquire(null).get().onSuccess(3.0);
+
+        Assert.assertEquals(3, recording.rtts.size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.bruce.limit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LossBasedLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void increasesWhileLimitIsUsed() {
+        AimdLimit limit = AimdLimit.newBuilder().initialLimit(10).build();
+        limit.onSample(0, RTT, 10, false);
+        Assert.assertEquals(11, limit.getLimit());
+
+        limit.onSample(0, RTT, 2, false);
+        Assert.assertEquals(11, limit.getLimit());
+    }
+
+    @Test
+    public void backsOffOncePerDropEpoch() {
+        AimdLimit limit = AimdLimit.newBuilder().initialLimit(100).backoffRatio(0.5).build();
+        limit.onSample(0, RTT, 100, true);
+        Assert.assertEquals(50, limit.getLimit());
+
+        limit.onSample(RTT / 2, RTT, 100, true);
+        Assert.assertEquals(50, limit.getLimit());
+
+        limit.onSample(RTT * 2, RTT, 100, true);
+        Assert.assertEquals(25, limit.getLimit());
+    }
+
+    @Test
+    public void treatsTimeoutAsDrop() {
+        AimdLimit limit = AimdLimit.newBuilder().initialLimit(100).timeout(5, TimeUnit.MILLISECONDS).build();
+        limit.onSample(0, RTT, 100, false);
+        Assert.assertEquals(90, limit.getLimit());
+    }
+
+    @Test
+    public void cubicRecoversToLimitAtLastDrop() {
+        CubicLimit limit = CubicLimit.newBuilder().initialLimit(100).build();
+        limit.onSample(0, RTT, 100, true);
+        Assert.assertEquals(70, limit.getLimit());
+
+        long now = RTT;
+        while (now < TimeUnit.SECONDS.toNanos(4)) {
+            now += RTT;
+            limit.onSample(now, RTT, limit.getLimit(), false);
+        }
+        Assert.assertTrue(limit.getLimit() >= 95 && limit.getLimit() <= 105);
+
+        while (now < TimeUnit.SECONDS.toNanos(10)) {
+            now += RTT;
+            limit.onSample(now, RTT, limit.getLimit(), false);
+        }
+        Assert.assertTrue(limit.getLimit() > 110);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bruce.limit;
+
+import com.bruce.Limiter;
+import com.bruce.limiter.SimpleLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ShadowLimitTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    public void enforcesPrimaryAndTracksShadows() {
+        ShadowLimit limit = ShadowLimit.newBuilder()
+                .executor(DIRECT)
+                .shadow("tight", FixedLimit.of(2))
+                .shadow("gradient2", Gradient2Limit.newBuilder().initialLimit(4).build())
+                .build(FixedLimit.of(5));
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(limit).build();
+
+        Limiter.Listener[] listeners = new Limiter.Listener[6];
+        for (int i = 0; i < 6; i++) {
+            Optional<Limiter.Listener> listener = limiter.acquire(null);
+            Assert.assertEquals(i < 5, listener.isPresent());
+            listeners[i] = listener.orElse(null);
+        }
+        for (int i = 0; i < 5; i++) {
+            listeners[i].onSuccess();
+        }
+
+        Assert.assertEquals(5, limiter.getLimit());
+        ShadowLimit.Shadow tight = limit.getShadows().get(0);
+        Assert.assertEquals("tight", tight.getName());
+        Assert.assertEquals(2, tight.getLimit());
+        Assert.assertEquals(5, tight.getSampleCount());
+        // Requests that started with 3, 4 and 5 inflight
+        Assert.assertEquals(3, tight.getRejectedCount());
+        Assert.assertEquals(5, limit.getShadows().get(1).getSampleCount());
+    }
+
+    @Test
+    public void dropsSamplesWhenShadowsFallBehind() {
+        ShadowLimit limit = ShadowLimit.newBuilder()
+                .executor(task -> {})
+                .maxPending(10)
+                .shadow("vegas", VegasLimit.newDefault())
+                .build(FixedLimit.of(5));
+
+        for (int i = 0; i < 15; i++) {
+            limit.onSample(0, TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+        }
+        Assert.assertEquals(5, limit.getDroppedSampleCount());
+        Assert.assertEquals(0, limit.getShadows().get(0).getSampleCount());
+    }
+
+    @Test
+    public void recoversWhenExecutorRejects() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        ShadowLimit limit = ShadowLimit.newBuilder()
+                .executor(task -> {
+                    if (reject.get()) {
+                        throw new RejectedExecutionException();
+                    }
+                    task.run();
+                })
+                .shadow("vegas", VegasLimit.newDefault())
+                .build(FixedLimit.of(5));
+
+        limit.onSample(0, TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+        reject.set(false);
+        limit.onSample(0, TimeUnit.MILLISECONDS.toNanos(10), 1, false);
+
+        Assert.assertEquals(2, limit.getShadows().get(0).getSampleCount());
+        Assert.assertEquals(0, limit.getDroppedSampleCount());
+    }
+}
@@ -0,0 +1,71 @@
+package com.bruce.limit.config;
+
+import com.bruce.limit.Gradient2Limit;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+public class LimitConfigTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void sample(Gradient2Limit limit, int count) {
+        for (int i = 0; i < count; i++) {
+            limit.onSample(0, RTT, limit.getLimit(), false);
+        }
+    }
+
+    @Test
+    public void appliesUpdatesWithoutResettingEstimate() {
+        LimitConfig config = new LimitConfig();
+        Gradient2Limit limit = Gradient2Limit.newBuilder().initialLimit(20).maxConcurrency(200).config(config).build();
+
+        sample(limit, 300);
+        Assert.assertEquals(200, limit.getLimit());
+
+        config.set(LimitConfig.MAX_CONCURRENCY, 60);
+        sample(limit, 1);
+        Assert.assertEquals(60, limit.getLimit());
+
+        config.remove(LimitConfig.MAX_CONCURRENCY);
+        sample(limit, 5);
+        Assert.assertTrue(limit.getLimit() > 60 && limit.getLimit() < 70);
+    }
+
+    @Test
+    public void ignoresInvalidValues() {
+        LimitConfig config = new LimitConfig();
+        config.set(LimitConfig.MAX_CONCURRENCY, "lots");
+        Gradient2Limit limit = Gradient2Limit.newBuilder().initialLimit(20).maxConcurrency(50).config(config).build();
+
+        sample(limit, 200);
+        Assert.assertEquals(50, limit.getLimit());
+    }
+
+    @Test
+    public void reloadsPropertiesFile() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("limits.properties");
+        Files.write(file, "api.maxConcurrency=60\nbatch.maxConcurrency=5\n".getBytes(StandardCharsets.UTF_8));
+
+        try (PropertiesConfigWatcher watcher = PropertiesConfigWatcher.newBuilder().file(file).interval(1, TimeUnit.HOURS).build()) {
+            LimitConfig config = watcher.register("api", new LimitConfig());
+            Assert.assertEquals(60, config.current().getInt(LimitConfig.MAX_CONCURRENCY, 0));
+            Assert.assertFalse(config.current().contains(LimitConfig.SMOOTHING));
+
+            Files.write(file, "api.maxConcurrency=40\napi.smoothing=0.5\n".getBytes(StandardCharsets.UTF_8));
+            watcher.reload();
+            Assert.assertEquals(40, config.current().getInt(LimitConfig.MAX_CONCURRENCY, 0));
+            Assert.assertEquals(0.5, config.current().getDouble(LimitConfig.SMOOTHING, 0), 0.0);
+        }
+    }
+}
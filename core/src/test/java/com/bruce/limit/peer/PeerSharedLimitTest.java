@@ -0,0 +1,104 @@
+package com.bruce.limit.peer;
+
+import com.bruce.limit.Gradient2Limit;
+import com.bruce.limit.persistence.LimitSnapshot;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PeerSharedLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void coldNodeAdoptsFleetEstimate() {
+        LoopbackPeerTransport transport = new LoopbackPeerTransport();
+
+        Gradient2Limit warm = Gradient2Limit.newBuilder().maxConcurrency(500).build();
+        warm.restore(new LimitSnapshot(180, RTT));
+        PeerSharedLimit a = PeerSharedLimit.newBuilder("a", transport).executor(Runnable::run).warmupSamples(0).peerWeight(0).build(warm);
+        a.onSample(0, RTT, 1, false);
+
+        PeerSharedLimit b = PeerSharedLimit.newBuilder("b", transport).executor(Runnable::run).build(Gradient2Limit.newBuilder().maxConcurrency(500).build());
+        Assert.assertEquals(20, b.getLimit());
+        b.onSample(0, RTT, 1, false);
+        Assert.assertEquals(180, b.getLimit());
+    }
+
+    @Test
+    public void warmNodeBlendsPeerEstimate() {
+        LoopbackPeerTransport transport = new LoopbackPeerTransport();
+        transport.publish(new PeerSummary("peer", 100, RTT, 10, System.currentTimeMillis()));
+
+        Gradient2Limit local = Gradient2Limit.newBuilder().minLimit(1).build();
+        local.restore(new LimitSnapshot(50, RTT));
+        PeerSharedLimit limit = PeerSharedLimit.newBuilder("local", transport).executor(Runnable::run).warmupSamples(0).peerWeight(0.5).build(local);
+        limit.onSample(0, RTT, 1, false);
+
+        Assert.assertEquals(75, limit.getLimit());
+    }
+
+    @Test
+    public void warmExchangesKeepLearnedRtt() {
+        LoopbackPeerTransport transport = new LoopbackPeerTransport();
+        transport.publish(new PeerSummary("peer", 20, RTT, 10, System.currentTimeMillis()));
+
+        Gradient2Limit local = Gradient2Limit.newBuilder().build();
+        PeerSharedLimit limit = PeerSharedLimit.newBuilder("local", transport)
+                .executor(Runnable::run)
+                .exchangeInterval(0, TimeUnit.NANOSECONDS)
+                .warmupSamples(0)
+                .peerWeight(0)
+                .build(local);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(i, RTT, 1, false);
+        }
+
+        // A single slow sample barely moves a warmed up long RTT average
+        limit.onSample(20, RTT * 2, 1, false);
+        Assert.assertTrue(local.snapshot().getRttNoLoadNanos() < RTT * 1.1);
+    }
+
+    @Test
+    public void exchangeRunsOffTheSamplePathOneAtATime() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger exchanges = new AtomicInteger();
+        PeerTransport transport = new PeerTransport() {
+            @Override
+            public void publish(PeerSummary summary) {
+                exchanges.incrementAndGet();
+            }
+
+            @Override
+            public Collection<PeerSummary> receive() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Collections.emptyList();
+            }
+        };
+        ExecutorService executor = Executors.newCachedThreadPool();
+        PeerSharedLimit limit = PeerSharedLimit.newBuilder("local", transport)
+                .executor(executor)
+                .exchangeInterval(0, TimeUnit.NANOSECONDS)
+                .build(Gradient2Limit.newDefault());
+
+        // Samples do not wait for the blocked transport, and do not start a second exchange alongside it
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(i, RTT, 1, false);
+        }
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, exchanges.get());
+    }
+}
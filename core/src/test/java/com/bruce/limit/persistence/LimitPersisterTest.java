@@ -0,0 +1,129 @@
+package com.bruce.limit.persistence;
+
+import com.bruce.limit.Gradient2Limit;
+import com.bruce.limit.VegasLimit;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LimitPersisterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void restoresLimitAfterRestart() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("limits.bin");
+
+        try (LimitPersister persister = LimitPersister.newBuilder().file(file).interval(1, TimeUnit.HOURS).build()) {
+            VegasLimit limit = persister.register("vegas", VegasLimit.newDefault());
+            limit.restore(new LimitSnapshot(87.5, TimeUnit.MILLISECONDS.toNanos(5)));
+        }
+
+        try (LimitPersister persister = LimitPersister.newBuilder().file(file).interval(1, TimeUnit.HOURS).build()) {
+            VegasLimit limit = persister.register("vegas", VegasLimit.newDefault());
+            Assert.assertEquals(87, limit.getLimit());
+            Assert.assertEquals(5, limit.snapshot().getRttNoLoad(TimeUnit.MILLISECONDS));
+
+            Gradient2Limit other = persister.register("other", Gradient2Limit.newDefault());
+            Assert.assertEquals(20, other.getLimit());
+        }
+    }
+
+    @Test
+    public void ignoresTornTrailingRecord() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("limits.bin");
+
+        try (SnapshotStore store = new SnapshotStore(file)) {
+            store.append(Collections.singletonMap("a", new LimitSnapshot(10, 1000)));
+        }
+        Files.write(file, new byte[] {0, 5, 'a'}, StandardOpenOption.APPEND);
+
+        try (SnapshotStore store = new SnapshotStore(file)) {
+            store.append(Collections.singletonMap("b", new LimitSnapshot(20, 2000)));
+            Map<String, LimitSnapshot> snapshots = store.load(1, TimeUnit.HOURS);
+            Assert.assertEquals(2, snapshots.size());
+            Assert.assertEquals(10.0, snapshots.get("a").getEstimateLimit(), 0.0);
+            Assert.assertEquals(20.0, snapshots.get("b").getEstimateLimit(), 0.0);
+        }
+    }
+
+    @Test
+    public void compactsToLatestRecords() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("limits.bin");
+
+        try (SnapshotStore store = new SnapshotStore(file)) {
+            for (int i = 0; i < 2000; i++) {
+                store.append(Collections.singletonMap("a", new LimitSnapshot(i, 1000)));
+            }
+            Assert.assertTrue(Files.size(file) < 1024 * 30);
+            Assert.assertEquals(1999.0, store.load(1, TimeUnit.HOURS).get("a").getEstimateLimit(), 0.0);
+        }
+    }
+
+    @Test
+    public void keepsAppendingWhenCompactionFails() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("limits.bin");
+        Path tmp = folder.getRoot().toPath().resolve("limits.bin.tmp");
+
+        try (SnapshotStore store = new SnapshotStore(file)) {
+            // A non-empty directory where the rewritten file goes makes every compaction fail
+            Files.createDirectories(tmp.resolve("blocker"));
+            for (int i = 0; i < 1100; i++) {
+                store.append(Collections.singletonMap("a", new LimitSnapshot(i, 1000)));
+            }
+            Assert.assertEquals(1099.0, store.load(1, TimeUnit.HOURS).get("a").getEstimateLimit(), 0.0);
+
+            Files.delete(tmp.resolve("blocker"));
+            Files.delete(tmp);
+            store.append(Collections.singletonMap("a", new LimitSnapshot(2000, 1000)));
+            Assert.assertFalse(Files.exists(tmp));
+            store.append(Collections.singletonMap("a", new LimitSnapshot(2001, 1000)));
+        }
+
+        try (SnapshotStore store = new SnapshotStore(file)) {
+            Assert.assertEquals(2001.0, store.load(1, TimeUnit.HOURS).get("a").getEstimateLimit(), 0.0);
+        }
+        // Compacted down to the header and a single record
+        Assert.assertTrue(Files.size(file) < 100);
+    }
+
+    @Test
+    public void restoreIsAppliedBeforeTheNextSample() {
+        long rtt = TimeUnit.MILLISECONDS.toNanos(10);
+        Gradient2Limit limit = Gradient2Limit.newBuilder().maxConcurrency(500).build();
+        limit.restore(new LimitSnapshot(180, rtt));
+
+        // Visible right away, the long RTT is only reset by the sampling thread
+        Assert.assertEquals(180, limit.getLimit());
+        Assert.assertEquals(rtt, limit.snapshot().getRttNoLoadNanos());
+        Assert.assertEquals(0, limit.getRttNoLoad(TimeUnit.NANOSECONDS));
+
+        limit.onSample(0, rtt, 1, false);
+        Assert.assertEquals(rtt, limit.getRttNoLoad(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void mergeBlendsRttIntoLearnedAverage() {
+        long rtt = TimeUnit.MILLISECONDS.toNanos(10);
+        Gradient2Limit limit = Gradient2Limit.newBuilder().build();
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(i, rtt, 1, false);
+        }
+
+        limit.merge(new LimitSnapshot(limit.getLimit(), rtt * 2));
+        limit.onSample(20, rtt, 1, false);
+        long learned = limit.getRttNoLoad(TimeUnit.NANOSECONDS);
+        Assert.assertTrue(learned > rtt);
+        Assert.assertTrue(learned < rtt * 1.1);
+    }
+}
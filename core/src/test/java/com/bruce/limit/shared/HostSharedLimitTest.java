@@ -0,0 +1,82 @@
+package com.bruce.limit.shared;
+
+import com.bruce.limit.CostNormalizedLimit;
+import com.bruce.limit.SettableLimit;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+public class HostSharedLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void splitsHostLimitBetweenLiveProcesses() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("limits.shm");
+        try (SharedLimitSegment first = new SharedLimitSegment(file, 8);
+             SharedLimitSegment second = new SharedLimitSegment(file, 8)) {
+            Assert.assertNotEquals(first.getSlot(), second.getSlot());
+
+            try (HostSharedLimit a = HostSharedLimit.newBuilder(first).build(SettableLimit.startingAt(100));
+                 HostSharedLimit b = HostSharedLimit.newBuilder(second).build(SettableLimit.startingAt(100))) {
+                a.onSample(0, RTT, 10, false);
+                Assert.assertEquals(50, a.getLimit());
+                Assert.assertEquals(100, a.getHostLimit());
+            }
+        }
+    }
+
+    @Test
+    public void sharedModeLeavesWhatOthersAreNotUsing() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("limits.shm");
+        try (SharedLimitSegment first = new SharedLimitSegment(file, 8);
+             SharedLimitSegment second = new SharedLimitSegment(file, 8)) {
+            try (HostSharedLimit a = HostSharedLimit.newBuilder(first).mode(HostSharedLimit.Mode.SHARED).build(SettableLimit.startingAt(100));
+                 HostSharedLimit b = HostSharedLimit.newBuilder(second).mode(HostSharedLimit.Mode.SHARED).build(SettableLimit.startingAt(100))) {
+                b.onSample(0, RTT, 70, false);
+                a.onSample(0, RTT, 5, false);
+                Assert.assertEquals(30, a.getLimit());
+            }
+        }
+    }
+
+    @Test
+    public void forwardsCostToDelegate() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("limits.shm");
+        CostNormalizedLimit delegate = CostNormalizedLimit.wrap(SettableLimit.startingAt(100));
+        try (SharedLimitSegment segment = new SharedLimitSegment(file, 8);
+             HostSharedLimit limit = HostSharedLimit.newBuilder(segment).build(delegate)) {
+            limit.onSample(0, RTT, 1, false, 5.0);
+            Assert.assertEquals(5.0, delegate.getReferenceCost(), 0.0);
+        }
+    }
+
+    @Test
+    public void heartbeatKeepsIdleProcessLive() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("limits.shm");
+        try (SharedLimitSegment first = new SharedLimitSegment(file, 8);
+             SharedLimitSegment second = new SharedLimitSegment(file, 8)) {
+            HostSharedLimit.Builder builder = HostSharedLimit.newBuilder(second)
+                    .mode(HostSharedLimit.Mode.SHARED)
+                    .staleness(200, TimeUnit.MILLISECONDS)
+                    .heartbeat(20, TimeUnit.MILLISECONDS);
+            try (HostSharedLimit a = HostSharedLimit.newBuilder(first).mode(HostSharedLimit.Mode.SHARED).staleness(200, TimeUnit.MILLISECONDS).build(SettableLimit.startingAt(100));
+                 HostSharedLimit b = builder.build(SettableLimit.startingAt(100))) {
+                b.onSample(0, RTT, 70, false);
+
+                // b takes no further samples while its 70 requests are still running
+                TimeUnit.MILLISECONDS.sleep(500);
+                a.onSample(0, RTT, 5, false);
+                Assert.assertEquals(30, a.getLimit());
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bruce.limiter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CoDelBacklogPolicyTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CoDelBacklogPolicy policy = CoDelBacklogPolicy.newBuilder()
+            .target(5, TimeUnit.MILLISECONDS)
+            .interval(100, TimeUnit.MILLISECONDS)
+            .overloadTimeout(10, TimeUnit.MILLISECONDS)
+            .clock(now::get)
+            .build();
+
+    @Test
+    public void shortensTimeoutOnlyWhileMinimumDelayStaysAboveTarget() {
+        Assert.assertEquals(1000, policy.getTimeout(1000, TimeUnit.MILLISECONDS));
+
+        advance(50);
+        policy.onDequeue(50, TimeUnit.MILLISECONDS);
+        advance(60);
+        policy.onDequeue(20, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(policy.isOverloaded());
+        Assert.assertEquals(10, policy.getTimeout(1000, TimeUnit.MILLISECONDS));
+
+        advance(50);
+        policy.onDequeue(0, TimeUnit.MILLISECONDS);
+        advance(60);
+        policy.onDequeue(30, TimeUnit.MILLISECONDS);
+        Assert.assertFalse(policy.isOverloaded());
+    }
+
+    @Test
+    public void burstBelowTargetDoesNotTriggerOverload() {
+        advance(50);
+        policy.onDequeue(200, TimeUnit.MILLISECONDS);
+        policy.onDequeue(1, TimeUnit.MILLISECONDS);
+        advance(60);
+        policy.onDequeue(200, TimeUnit.MILLISECONDS);
+        Assert.assertFalse(policy.isOverloaded());
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,111 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limit.SettableLimit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class DeadlineLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final DeadlineLimiter<Long> limiter = DeadlineLimiter
+            .newBuilder(SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).<Long>build())
+            .deadline(deadline -> deadline)
+            .expectedRtt(() -> RTT)
+            .build();
+
+    @Test
+    public void rejectsRequestThatCannotFinishInTime() {
+        Assert.assertFalse(limiter.acquire(System.nanoTime() + RTT / 2).isPresent());
+        Assert.assertTrue(limiter.acquire(System.nanoTime() + RTT * 10).isPresent());
+    }
+
+    @Test
+    public void releasesToEarliestDeadlineFirst() throws Exception {
+        final long now = System.nanoTime();
+        final Limiter.Listener listener = limiter.acquire(now + TimeUnit.SECONDS.toNanos(10)).get();
+
+        CompletableFuture<Optional<Limiter.Listener>> late = CompletableFuture.supplyAsync(
+                () -> limiter.acquire(now + TimeUnit.SECONDS.toNanos(5)));
+        awaitBacklog(1);
+        CompletableFuture<Optional<Limiter.Listener>> early = CompletableFuture.supplyAsync(
+                () -> limiter.acquire(now + TimeUnit.SECONDS.toNanos(2)));
+        awaitBacklog(2);
+
+        listener.onSuccess();
+        early.get(1, TimeUnit.SECONDS).get().onSuccess();
+        late.get(1, TimeUnit.SECONDS).get().onSuccess();
+    }
+
+    @Test
+    public void leavesBacklogWhenDeadlineCanNoLongerBeMet() throws Exception {
+        limiter.acquire(System.nanoTime() + TimeUnit.SECONDS.toNanos(10)).get();
+
+        long start = System.nanoTime();
+        Assert.assertFalse(limiter.acquire(start + RTT * 3).isPresent());
+        Assert.assertTrue(System.nanoTime() - start < RTT * 3);
+    }
+
+    @Test
+    public void releaseBeforeEnqueueIsNotLost() {
+        SimpleLimiter<Long> simple = SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build();
+        AtomicReference<Limiter.Listener> releaseOnRejection = new AtomicReference<>();
+        Limiter<Long> delegate = context -> {
+            Optional<Limiter.Listener> listener = simple.acquire(context);
+            Limiter.Listener held = releaseOnRejection.getAndSet(null);
+            if (!listener.isPresent() && held != null) {
+                held.onSuccess();
+            }
+            return listener;
+        };
+        DeadlineLimiter<Long> limiter = DeadlineLimiter.newBuilder(delegate)
+                .deadline(deadline -> deadline)
+                .build();
+
+        releaseOnRejection.set(limiter.acquire(System.nanoTime() + TimeUnit.SECONDS.toNanos(10)).get());
+
+        // The permit is released right after this request fails to get it
+        long start = System.nanoTime();
+        Assert.assertTrue(limiter.acquire(start + TimeUnit.SECONDS.toNanos(1)).isPresent());
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    public void laterDeadlineDoesNotOvertakeQueuedRequest() throws Exception {
+        SettableLimit limit = SettableLimit.startingAt(1);
+        DeadlineLimiter<Long> limiter = DeadlineLimiter
+                .newBuilder(SimpleLimiter.newBuilder().limit(limit).<Long>build())
+                .deadline(deadline -> deadline)
+                .build();
+
+        final long now = System.nanoTime();
+        final Limiter.Listener listener = limiter.acquire(now + TimeUnit.SECONDS.toNanos(10)).get();
+        CompletableFuture<Optional<Limiter.Listener>> queued = CompletableFuture.supplyAsync(
+                () -> limiter.acquire(now + TimeUnit.SECONDS.toNanos(5)));
+        while (limiter.getBacklogSize() < 1) {
+            Thread.sleep(1);
+        }
+
+        // Frees a permit without a release, so the queued request is still waiting for it
+        limit.setLimit(2);
+        CompletableFuture<Optional<Limiter.Listener>> arrival = CompletableFuture.supplyAsync(
+                () -> limiter.acquire(now + TimeUnit.SECONDS.toNanos(10)));
+
+        queued.get(1, TimeUnit.SECONDS).get().onSuccess();
+        listener.onSuccess();
+        arrival.get(1, TimeUnit.SECONDS).get().onSuccess();
+    }
+
+    private void awaitBacklog(int size) throws InterruptedException {
+        while (limiter.getBacklogSize() < size) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HierarchicalLimiterTest {
+
+    private static HierarchicalLimiter<String> newLimiter(boolean borrowing) {
+        return HierarchicalLimiter.<String>newBuilder("global", FixedLimit.of(10))
+                .node("service", "global", FixedLimit.of(8))
+                .node("tenant-a", "service", FixedLimit.of(2))
+                .node("tenant-b", "service", FixedLimit.of(4))
+                .nodeResolver(tenant -> tenant)
+                .borrowing(borrowing)
+                .build();
+    }
+
+    @Test
+    public void enforcesEveryLevelWithoutBorrowing() {
+        HierarchicalLimiter<String> limiter = newLimiter(false);
+        List<Limiter.Listener> listeners = acquireAll(limiter, "tenant-a");
+        Assert.assertEquals(2, listeners.size());
+        Assert.assertEquals(4, acquireAll(limiter, "tenant-b").size());
+        Assert.assertEquals(0, acquireAll(limiter, "tenant-a").size());
+        Assert.assertEquals(6, limiter.getInflight("service"));
+        Assert.assertEquals(6, limiter.getInflight("global"));
+
+        listeners.forEach(Limiter.Listener::onSuccess);
+        Assert.assertEquals(0, limiter.getInflight("tenant-a"));
+        Assert.assertEquals(4, limiter.getInflight("service"));
+        Assert.assertEquals(4, limiter.getInflight("global"));
+    }
+
+    @Test
+    public void childBorrowsOnlyUnreservedParentCapacity() {
+        HierarchicalLimiter<String> limiter = newLimiter(true);
+
+        // The service has 2 permits beyond what its tenants' limits reserve
+        Assert.assertEquals(4, acquireAll(limiter, "tenant-a").size());
+        Assert.assertEquals(4, acquireAll(limiter, "tenant-b").size());
+        Assert.assertEquals(8, limiter.getInflight("service"));
+        Assert.assertEquals(2, acquireAll(limiter, "unknown").size());
+        Assert.assertEquals(10, limiter.getInflight("global"));
+    }
+
+    private static List<Limiter.Listener> acquireAll(HierarchicalLimiter<String> limiter, String tenant) {
+        List<Limiter.Listener> listeners = new ArrayList<>();
+        while (true) {
+            Limiter.Listener listener = limiter.acquire(tenant).orElse(null);
+            if (listener == null) {
+                return listeners;
+            }
+            listeners.add(listener);
+        }
+    }
+}
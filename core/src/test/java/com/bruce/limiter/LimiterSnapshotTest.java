@@ -0,0 +1,115 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limit.VegasLimit;
+import com.bruce.limiter.jmx.LimiterMBeans;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class LimiterSnapshotTest {
+
+    private static class Builder extends AbstractPartitionedLimiter.Builder<Builder, String> {
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+
+    private static AbstractPartitionedLimiter<String> partitioned() {
+        return (AbstractPartitionedLimiter<String>) new Builder()
+                .partitionResolver(context -> context)
+                .partition("batch", 0.3)
+                .partition("live", 0.7)
+                .limit(FixedLimit.of(10))
+                .build();
+    }
+
+    @Test
+    public void snapshotsPartitionsAndRejections() {
+        AbstractPartitionedLimiter<String> limiter = partitioned();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(limiter.acquire("live").isPresent());
+        }
+        Assert.assertFalse(limiter.acquire("live").isPresent());
+        Assert.assertFalse(limiter.acquire("live").isPresent());
+
+        LimiterSnapshot snapshot = limiter.snapshot();
+        Assert.assertEquals(10, snapshot.getLimit());
+        Assert.assertEquals(10, snapshot.getInflight());
+        Assert.assertEquals(2, snapshot.getRejectedCount());
+        Assert.assertTrue(Double.isNaN(snapshot.getEstimateLimit()));
+
+        List<PartitionSnapshot> partitions = snapshot.getPartitions();
+        Assert.assertEquals(3, partitions.size());
+        Assert.assertEquals("batch", partitions.get(0).getName());
+        Assert.assertEquals(3, partitions.get(0).getLimit());
+        Assert.assertEquals(0, partitions.get(0).getInflight());
+        Assert.assertEquals("live", partitions.get(1).getName());
+        Assert.assertEquals(7, partitions.get(1).getLimit());
+        Assert.assertEquals(10, partitions.get(1).getInflight());
+        Assert.assertEquals(2, partitions.get(1).getRejectedCount());
+    }
+
+    @Test
+    public void inflightMatchesPartitionsUnderConcurrentUse() throws Exception {
+        AbstractPartitionedLimiter<String> limiter = partitioned();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> workers = new ArrayList<>();
+        for (String partition : new String[]{"batch", "live", "batch", "live"}) {
+            workers.add(executor.submit(() -> {
+                while (running.get()) {
+                    limiter.acquire(partition).ifPresent(Limiter.Listener::onSuccess);
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < 10000; i++) {
+                LimiterSnapshot snapshot = limiter.snapshot();
+                int sum = snapshot.getPartitions().stream().mapToInt(PartitionSnapshot::getInflight).sum();
+                Assert.assertEquals(sum, snapshot.getInflight());
+            }
+        } finally {
+            running.set(false);
+            for (Future<?> worker : workers) {
+                worker.get(5, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+        }
+        Assert.assertEquals(0, limiter.snapshot().getInflight());
+    }
+
+    @Test
+    public void exposesSnapshotThroughMXBean() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(VegasLimit.newBuilder().initialLimit(2).build()).build();
+        Optional<Limiter.Listener> listener = limiter.acquire(null);
+        Assert.assertTrue(listener.isPresent());
+
+        ObjectName name = LimiterMBeans.register(server, "orders", limiter);
+        CompositeData snapshot = (CompositeData) server.getAttribute(name, "Snapshot");
+        Assert.assertEquals(2, snapshot.get("limit"));
+        Assert.assertEquals(1, snapshot.get("inflight"));
+        Assert.assertEquals(2.0, (Double) snapshot.get("estimateLimit"), 0.0);
+        Assert.assertEquals(0, ((CompositeData[]) snapshot.get("partitions")).length);
+        Assert.assertEquals(1, server.getAttribute(name, "Inflight"));
+
+        LimiterMBeans.unregister(server, "orders");
+        Assert.assertFalse(server.isRegistered(name));
+    }
+}
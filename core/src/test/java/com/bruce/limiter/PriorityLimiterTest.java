@@ -0,0 +1,182 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limit.SettableLimit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PriorityLimiterTest {
+
+    private static PriorityLimiter<Integer> newLimiter(PriorityLimiter.Scheduling scheduling) {
+        return PriorityLimiter.newBuilder(SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).<Integer>build())
+                .priorityResolver(priority -> priority)
+                .priorityClass(3, 10, 1, TimeUnit.SECONDS)
+                .priorityClass(1, 1, 50, TimeUnit.MILLISECONDS)
+                .scheduling(scheduling)
+                .build();
+    }
+
+    @Test
+    public void strictSchedulingServesHigherPriorityFirst() throws Exception {
+        PriorityLimiter<Integer> limiter = newLimiter(PriorityLimiter.Scheduling.STRICT);
+        Limiter.Listener listener = limiter.acquire(0).get();
+
+        CompletableFuture<Optional<Limiter.Listener>> batch = limiter.acquireAsync(1);
+        CompletableFuture<Optional<Limiter.Listener>> critical = limiter.acquireAsync(0);
+        Assert.assertFalse(batch.isDone());
+        Assert.assertFalse(critical.isDone());
+
+        listener.onSuccess();
+        Assert.assertTrue(critical.get().isPresent());
+        Assert.assertFalse(batch.isDone());
+    }
+
+    @Test
+    public void weightedSchedulingDoesNotStarveLowerPriority() throws Exception {
+        PriorityLimiter<Integer> limiter = newLimiter(PriorityLimiter.Scheduling.WEIGHTED);
+        Limiter.Listener listener = limiter.acquire(0).get();
+
+        CompletableFuture<Optional<Limiter.Listener>> batch = limiter.acquireAsync(1);
+        List<CompletableFuture<Optional<Limiter.Listener>>> critical = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            critical.add(limiter.acquireAsync(0));
+        }
+
+        int grants = 0;
+        while (true) {
+            listener.onSuccess();
+            grants++;
+            Assert.assertTrue(grants <= 4);
+            if (batch.isDone()) {
+                break;
+            }
+            listener = critical.stream()
+                    .filter(CompletableFuture::isDone)
+                    .map(future -> future.join().get())
+                    .skip(grants - 1)
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("Released permit was not granted"));
+        }
+        Assert.assertTrue(batch.get().isPresent());
+    }
+
+    @Test
+    public void queuedRequestsAreServedBeforeNewArrivals() throws Exception {
+        SettableLimit limit = SettableLimit.startingAt(1);
+        PriorityLimiter<Integer> limiter = PriorityLimiter.newBuilder(SimpleLimiter.newBuilder().limit(limit).<Integer>build())
+                .priorityClass(1, 10, 1, TimeUnit.SECONDS)
+                .build();
+        limiter.acquire(0).get();
+        CompletableFuture<Optional<Limiter.Listener>> queued = limiter.acquireAsync(0);
+
+        // Frees a permit without a release, so nothing drains the backlog before the next arrival
+        limit.setLimit(2);
+        CompletableFuture<Optional<Limiter.Listener>> arrival = limiter.acquireAsync(0);
+        Assert.assertTrue(queued.isDone());
+        Assert.assertFalse(arrival.isDone());
+
+        queued.get().get().onSuccess();
+        Assert.assertTrue(arrival.get().isPresent());
+    }
+
+    @Test
+    public void releaseDuringFailedDrainIsNotLost() throws Exception {
+        SimpleLimiter<Integer> simple = SimpleLimiter.newBuilder().limit(FixedLimit.of(2)).build();
+        AtomicInteger rejections = new AtomicInteger();
+        AtomicReference<Limiter.Listener> releaseOnSecondRejection = new AtomicReference<>();
+        Limiter<Integer> delegate = context -> {
+            Optional<Limiter.Listener> listener = simple.acquire(context);
+            if (!listener.isPresent() && rejections.incrementAndGet() == 2) {
+                releaseOnSecondRejection.getAndSet(null).onSuccess();
+            }
+            return listener;
+        };
+        PriorityLimiter<Integer> limiter = PriorityLimiter.newBuilder(delegate)
+                .priorityClass(1, 10, 10, TimeUnit.SECONDS)
+                .build();
+
+        limiter.acquire(0).get();
+        releaseOnSecondRejection.set(limiter.acquire(0).get());
+
+        // The permit is released while the waiter's drain attempt is failing
+        CompletableFuture<Optional<Limiter.Listener>> waiter = limiter.acquireAsync(0);
+        Assert.assertEquals(2, rejections.get());
+        Assert.assertTrue(waiter.isDone());
+        Assert.assertTrue(waiter.get().isPresent());
+    }
+
+    @Test
+    public void grantCancelsWaiterTimeout() throws Exception {
+        PriorityLimiter<Integer> limiter = PriorityLimiter.newBuilder(SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).<Integer>build())
+                .priorityClass(1, 10, 1, TimeUnit.HOURS)
+                .build();
+        Limiter.Listener listener = limiter.acquire(0).get();
+
+        CompletableFuture<Optional<Limiter.Listener>> waiter = limiter.acquireAsync(0);
+        int scheduled = PriorityLimiter.TimeoutScheduler.INSTANCE.getQueue().size();
+        listener.onSuccess();
+
+        Assert.assertTrue(waiter.get(1, TimeUnit.SECONDS).isPresent());
+        Assert.assertTrue(PriorityLimiter.TimeoutScheduler.INSTANCE.getQueue().size() < scheduled);
+    }
+
+    @Test
+    public void concurrentReleasesAndEnqueuesDoNotLoseWakeups() throws Exception {
+        PriorityLimiter<Integer> limiter = PriorityLimiter.newBuilder(SimpleLimiter.newBuilder().limit(FixedLimit.of(2)).<Integer>build())
+                .priorityResolver(priority -> priority)
+                .priorityClass(2, 100, 5, TimeUnit.SECONDS)
+                .priorityClass(1, 100, 5, TimeUnit.SECONDS)
+                .scheduling(PriorityLimiter.Scheduling.WEIGHTED)
+                .build();
+
+        int threads = 8;
+        int iterations = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int priority = t % 2;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    Optional<Limiter.Listener> listener = limiter.acquire(priority);
+                    if (listener.isPresent()) {
+                        listener.get().onSuccess();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(0, rejected.get());
+        Assert.assertEquals(0, limiter.getBacklogSize(0));
+        Assert.assertEquals(0, limiter.getBacklogSize(1));
+    }
+
+    @Test
+    public void rejectsWhenClassBacklogIsFullAndExpiresAfterTimeout() throws Exception {
+        PriorityLimiter<Integer> limiter = newLimiter(PriorityLimiter.Scheduling.STRICT);
+        limiter.acquire(0).get();
+
+        CompletableFuture<Optional<Limiter.Listener>> waiting = limiter.acquireAsync(1);
+        Assert.assertFalse(limiter.acquireAsync(1).get().isPresent());
+        Assert.assertFalse(waiting.get(1, TimeUnit.SECONDS).isPresent());
+        Assert.assertEquals(0, limiter.getBacklogSize(1));
+    }
+}
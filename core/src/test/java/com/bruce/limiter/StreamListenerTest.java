@@ -0,0 +1,73 @@
+package com.bruce.limiter;
+
+import com.bruce.Limit;
+import com.bruce.Limiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class StreamListenerTest {
+
+    private static class RecordingLimit implements Limit {
+        final List<Long> rtts = new ArrayList<>();
+        final List<Integer> inflights = new ArrayList<>();
+
+        @Override
+        public int getLimit() {
+            return 2;
+        }
+
+        @Override
+        public void notifyOnChange(Consumer<Integer> consumer) {
+        }
+
+        @Override
+        public void onSample(long startTime, long rtt, int inflight, boolean didDrop) {
+            rtts.add(rtt);
+            inflights.add(inflight);
+        }
+    }
+
+    private final AtomicLong clock = new AtomicLong();
+    private final RecordingLimit limit = new RecordingLimit();
+
+    @Test
+    public void samplesEachProgressInsteadOfWholeStream() {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(limit).clock(clock::get).build();
+
+        Limiter.StreamListener stream = limiter.acquireStream(null).get();
+        clock.set(5);
+        stream.onProgress();
+        clock.set(8);
+        stream.onProgress();
+        clock.set(1000);
+        stream.onSuccess();
+
+        Assert.assertEquals(2, limit.rtts.size());
+        Assert.assertEquals(5L, (long)limit.rtts.get(0));
+        Assert.assertEquals(3L, (long)limit.rtts.get(1));
+    }
+
+    @Test
+    public void streamsDoNotUseUnaryInflight() {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(limit).clock(clock::get).maxStreams(1).build();
+
+        Limiter.StreamListener stream = limiter.acquireStream(null).get();
+        Assert.assertFalse(limiter.acquireStream(null).isPresent());
+        Assert.assertEquals(1, limiter.getStreamsInflight());
+
+        Assert.assertTrue(limiter.acquire(null).isPresent());
+        Assert.assertTrue(limiter.acquire(null).isPresent());
+        Assert.assertEquals(2, limiter.getInflight());
+
+        stream.onProgress();
+        Assert.assertEquals(2, (int)limit.inflights.get(0));
+
+        stream.onIgnore();
+        Assert.assertEquals(0, limiter.getStreamsInflight());
+    }
+}
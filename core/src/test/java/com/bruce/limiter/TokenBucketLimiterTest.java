@@ -0,0 +1,47 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+
+    private final TokenBucketLimiter<Void> rateLimiter = TokenBucketLimiter.newBuilder()
+            .rate(10, TimeUnit.SECONDS)
+            .burst(2)
+            .clock(now::get)
+            .build();
+
+    @Test
+    public void admitsBurstThenRate() {
+        Assert.assertTrue(rateLimiter.acquire(null).isPresent());
+        Assert.assertTrue(rateLimiter.acquire(null).isPresent());
+        Assert.assertFalse(rateLimiter.acquire(null).isPresent());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        Assert.assertTrue(rateLimiter.acquire(null).isPresent());
+        Assert.assertFalse(rateLimiter.acquire(null).isPresent());
+    }
+
+    @Test
+    public void compositeRollsBackPartialAcquire() {
+        SimpleLimiter<Void> concurrency = SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build();
+        CompositeLimiter<Void> limiter = CompositeLimiter.of(rateLimiter, concurrency);
+
+        Limiter.Listener listener = limiter.acquire(null).get();
+        Assert.assertEquals(1, concurrency.getInflight());
+
+        Assert.assertFalse(limiter.acquire(null).isPresent());
+        Assert.assertEquals(1, concurrency.getInflight());
+
+        listener.onSuccess();
+        Assert.assertTrue(limiter.acquire(null).isPresent());
+        Assert.assertFalse(rateLimiter.acquire(null).isPresent());
+    }
+}
@@ -0,0 +1,173 @@
+package com.bruce.limiter;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WeightedPermitsTest {
+
+    private static class PartitionedBuilder extends AbstractPartitionedLimiter.Builder<PartitionedBuilder, String> {
+        @Override
+        protected PartitionedBuilder self() {
+            return this;
+        }
+    }
+
+    @Test
+    public void acquiresAndReleasesAllPermits() {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(10)).build();
+
+        Limiter.Listener batch = limiter.acquire(null, 6).get();
+        Assert.assertFalse(limiter.acquire(null, 5).isPresent());
+        Limiter.Listener rest = limiter.acquire(null, 4).get();
+        Assert.assertEquals(10, limiter.getInflight());
+        Assert.assertFalse(limiter.acquire(null).isPresent());
+
+        batch.onSuccess();
+        Assert.assertEquals(4, limiter.getInflight());
+        rest.onIgnore();
+        Assert.assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    public void admitsOversizedBatchOnlyWhenIdle() {
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(10)).build();
+
+        Limiter.Listener single = limiter.acquire(null).get();
+        Assert.assertFalse(limiter.acquire(null, 20).isPresent());
+
+        single.onSuccess();
+        Assert.assertTrue(limiter.acquire(null, 20).isPresent());
+        Assert.assertEquals(20, limiter.getInflight());
+    }
+
+    @Test
+    public void partitionCountsPermits() {
+        Limiter<String> limiter = new PartitionedBuilder().limit(FixedLimit.of(10))
+                .partitionResolver(context -> context)
+                .partition("batch", 0.5)
+                .partition("live", 0.5)
+                .build();
+
+        Limiter.Listener batch = limiter.acquire("batch", 5).get();
+        Assert.assertTrue(limiter.acquire("live", 5).isPresent());
+        Assert.assertFalse(limiter.acquire("batch", 1).isPresent());
+
+        batch.onSuccess();
+        Assert.assertTrue(limiter.acquire("batch", 5).isPresent());
+    }
+
+    @Test(timeout = 5000)
+    public void blockingLimiterWaitsForEnoughPermits() throws Exception {
+        SimpleLimiter<Void> delegate = SimpleLimiter.newBuilder().limit(FixedLimit.of(10)).build();
+        BlockingLimiter<Void> limiter = BlockingLimiter.wrap(delegate, Duration.ofSeconds(1));
+
+        Limiter.Listener first = limiter.acquire(null, 8).get();
+        CompletableFuture<Optional<Limiter.Listener>> waiting = CompletableFuture.supplyAsync(() -> limiter.acquire(null, 5));
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertFalse(waiting.isDone());
+
+        first.onSuccess();
+        Assert.assertTrue(waiting.get().isPresent());
+        Assert.assertEquals(5, delegate.getInflight());
+    }
+
+    @Test
+    public void tokenBucketTakesOneTokenPerPermit() {
+        AtomicLong now = new AtomicLong();
+        TokenBucketLimiter<Void> limiter = TokenBucketLimiter.newBuilder()
+                .rate(10, TimeUnit.SECONDS)
+                .burst(4)
+                .clock(now::get)
+                .build();
+
+        Limiter.Listener batch = limiter.acquire(null, 3).get();
+        Assert.assertFalse(limiter.acquire(null, 2).isPresent());
+        Assert.assertTrue(limiter.acquire(null).isPresent());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        Assert.assertTrue(limiter.acquire(null, 2).isPresent());
+        Assert.assertFalse(limiter.acquire(null).isPresent());
+
+        // Ignoring refunds all of the batch's tokens
+        batch.onIgnore();
+        Assert.assertTrue(limiter.acquire(null, 3).isPresent());
+    }
+
+    @Test
+    public void compositeAcquiresPermitsFromEveryLimiter() {
+        TokenBucketLimiter<Void> rate = TokenBucketLimiter.newBuilder()
+                .rate(10, TimeUnit.SECONDS)
+                .burst(10)
+                .clock(() -> 0L)
+                .build();
+        SimpleLimiter<Void> concurrency = SimpleLimiter.newBuilder().limit(FixedLimit.of(5)).build();
+        CompositeLimiter<Void> limiter = CompositeLimiter.of(rate, concurrency);
+
+        Limiter.Listener batch = limiter.acquire(null, 4).get();
+        Assert.assertEquals(4, concurrency.getInflight());
+
+        // Rejected by the concurrency limiter, so the tokens are refunded
+        Assert.assertFalse(limiter.acquire(null, 4).isPresent());
+        Assert.assertEquals(4, concurrency.getInflight());
+
+        batch.onSuccess();
+        Assert.assertTrue(limiter.acquire(null, 5).isPresent());
+        Assert.assertEquals(5, concurrency.getInflight());
+        Assert.assertFalse(rate.acquire(null, 2).isPresent());
+    }
+
+    @Test
+    public void hierarchicalCountsPermitsAtEveryLevel() {
+        HierarchicalLimiter<String> limiter = HierarchicalLimiter.<String>newBuilder("global", FixedLimit.of(10))
+                .node("tenant", "global", FixedLimit.of(6))
+                .nodeResolver(tenant -> tenant)
+                .borrowing(false)
+                .build();
+
+        Limiter.Listener batch = limiter.acquire("tenant", 4).get();
+        Assert.assertFalse(limiter.acquire("tenant", 3).isPresent());
+        Assert.assertEquals(4, limiter.getInflight("global"));
+
+        batch.onSuccess();
+        Assert.assertEquals(0, limiter.getInflight("tenant"));
+        Assert.assertEquals(0, limiter.getInflight("global"));
+    }
+
+    @Test
+    public void priorityQueuesWeightedRequests() throws Exception {
+        SimpleLimiter<Void> delegate = SimpleLimiter.newBuilder().limit(FixedLimit.of(10)).build();
+        PriorityLimiter<Void> limiter = PriorityLimiter.newBuilder(delegate)
+                .priorityClass(1, 10, 1, TimeUnit.SECONDS)
+                .build();
+
+        Limiter.Listener first = limiter.acquire(null, 8).get();
+        CompletableFuture<Optional<Limiter.Listener>> waiting = limiter.acquireAsync(null, 5);
+        Assert.assertFalse(waiting.isDone());
+
+        first.onSuccess();
+        Assert.assertTrue(waiting.get().isPresent());
+        Assert.assertEquals(5, delegate.getInflight());
+    }
+
+    @Test
+    public void deadlineLimiterPassesPermitsToDelegate() {
+        SimpleLimiter<Void> delegate = SimpleLimiter.newBuilder().limit(FixedLimit.of(10)).build();
+        DeadlineLimiter<Void> limiter = DeadlineLimiter.newBuilder(delegate).build();
+
+        Limiter.Listener batch = limiter.acquire(null, 7).get();
+        Assert.assertEquals(7, delegate.getInflight());
+        Assert.assertFalse(limiter.acquire(null, 4).isPresent());
+
+        batch.onSuccess();
+        Assert.assertEquals(0, delegate.getInflight());
+    }
+}
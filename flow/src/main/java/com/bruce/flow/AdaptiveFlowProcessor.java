@@ -0,0 +1,207 @@
+package com.bruce.flow;
+
+import com.bruce.Limiter;
+import com.bruce.internal.Preconditions;
+import com.bruce.limiter.AbstractLimiter;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * {@link Flow.Processor} that maps each item through an asynchronous function and requests items from
+ * upstream based on the headroom of an {@link AbstractLimiter}, {@code limit - inflight}, instead of a
+ * fixed prefetch.  Each item holds a permit until its stage completes, so per-item latency is sampled
+ * into the limit and demand follows what the downstream resource can actually absorb.  Upstream demand
+ * is also capped by downstream demand.
+ *
+ * <p>Results are emitted in completion order.  A stage failing with {@link TimeoutException} is reported
+ * as a drop; any failure cancels upstream and is signalled downstream.  The limiter should be dedicated
+ * to the processor: items it rejects wait for one of the processor's own items to complete.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 23:25
+ * @Version 1.0
+ */
+public final class AdaptiveFlowProcessor<T, R> implements Flow.Processor<T, R> {
+
+    public static <T, R> AdaptiveFlowProcessor<T, R> create(AbstractLimiter<? super T> limiter, Function<T, CompletionStage<R>> function) {
+        return new AdaptiveFlowProcessor<>(limiter, function);
+    }
+
+    private final AbstractLimiter<? super T> limiter;
+    private final Function<T, CompletionStage<R>> function;
+
+    private final Queue<T> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<R> results = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger processing = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super R> downstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable error;
+    private volatile boolean cancelled;
+    private final AtomicLong outstanding = new AtomicLong();
+
+    // Only accessed from the serialized drain loop
+    private boolean terminated;
+
+    private AdaptiveFlowProcessor(AbstractLimiter<? super T> limiter, Function<T, CompletionStage<R>> function) {
+        this.limiter = limiter;
+        this.function = function;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Preconditions.checkState(downstream == null, "Only one subscriber is supported");
+        downstream = subscriber;
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Demand must be positive");
+                } else {
+                    demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        outstanding.decrementAndGet();
+        pending.offer(item);
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    private void start(T item, Limiter.Listener listener) {
+        processing.incrementAndGet();
+        final CompletionStage<R> stage;
+        try {
+            stage = function.apply(item);
+        } catch (RuntimeException e) {
+            onResult(null, e, listener);
+            return;
+        }
+        stage.whenComplete((result, failure) -> onResult(result, failure, listener));
+    }
+
+    private void onResult(R result, Throwable failure, Limiter.Listener listener) {
+        if (failure == null) {
+            listener.onSuccess();
+            results.offer(result);
+        } else {
+            final Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof TimeoutException) {
+                listener.onDropped();
+            } else {
+                listener.onIgnore();
+            }
+            if (error == null) {
+                error = cause;
+            }
+        }
+        processing.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        do {
+            final Flow.Subscriber<? super R> subscriber = downstream;
+            final Flow.Subscription subscription = upstream;
+            if (terminated || subscriber == null) {
+                continue;
+            }
+
+            if (cancelled || error != null) {
+                terminated = true;
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+                if (!cancelled) {
+                    subscriber.onError(error);
+                }
+                pending.clear();
+                results.clear();
+                continue;
+            }
+
+            R result;
+            while (demand.get() > 0 && (result = results.poll()) != null) {
+                subscriber.onNext(result);
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+            }
+
+            T item;
+            while ((item = pending.peek()) != null) {
+                final Optional<Limiter.Listener> listener = limiter.acquire(item);
+                if (!listener.isPresent()) {
+                    break;
+                }
+                pending.poll();
+                start(item, listener.get());
+            }
+
+            if (upstreamDone) {
+                if (pending.isEmpty() && processing.get() == 0 && results.isEmpty()) {
+                    terminated = true;
+                    subscriber.onComplete();
+                }
+            } else if (subscription != null) {
+                final long buffered = pending.size() + processing.get() + results.size() + outstanding.get();
+                final long headroom = Math.min(limiter.getLimit() - limiter.getInflight() - pending.size() - outstanding.get(),
+                        demand.get() - buffered);
+                if (headroom > 0) {
+                    outstanding.addAndGet(headroom);
+                    subscription.request(headroom);
+                }
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+}
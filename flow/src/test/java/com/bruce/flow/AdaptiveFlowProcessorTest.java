@@ -0,0 +1,148 @@
+package com.bruce.flow;
+
+import com.bruce.limit.FixedLimit;
+import com.bruce.limiter.SimpleLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveFlowProcessorTest {
+
+    private static class CollectingSubscriber<R> implements Flow.Subscriber<R> {
+        final List<R> items = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(R item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void boundsInflightByLimit() throws Exception {
+        SimpleLimiter<Integer> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(4)).build();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        AdaptiveFlowProcessor<Integer, Integer> processor = AdaptiveFlowProcessor.create(limiter, item ->
+                CompletableFuture.supplyAsync(() -> {
+                    maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    concurrent.decrementAndGet();
+                    return item * 2;
+                }));
+
+        CollectingSubscriber<Integer> subscriber = new CollectingSubscriber<>();
+        processor.subscribe(subscriber);
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int i = 0; i < 100; i++) {
+                publisher.submit(i);
+            }
+        }
+
+        Assert.assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+        Assert.assertNull(subscriber.error);
+        Assert.assertEquals(100, subscriber.items.size());
+        Assert.assertTrue(maxConcurrent.get() <= 4);
+        Assert.assertEquals(0, limiter.getInflight());
+    }
+
+    @Test(timeout = 10000)
+    public void respectsDownstreamDemand() throws Exception {
+        SimpleLimiter<Integer> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(10)).build();
+        AdaptiveFlowProcessor<Integer, Integer> processor = AdaptiveFlowProcessor.create(limiter, CompletableFuture::completedFuture);
+
+        List<Integer> items = new CopyOnWriteArrayList<>();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        processor.subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        AtomicInteger requested = new AtomicInteger();
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                requested.addAndGet((int)n);
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        Assert.assertEquals(0, requested.get());
+
+        subscription[0].request(3);
+        Assert.assertEquals(3, requested.get());
+        processor.onNext(1);
+        processor.onNext(2);
+        processor.onNext(3);
+        Assert.assertEquals(3, items.size());
+        Assert.assertEquals(3, requested.get());
+    }
+
+    @Test(timeout = 10000)
+    public void failsDownstreamWhenStageFails() throws Exception {
+        SimpleLimiter<Integer> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(10)).build();
+        AdaptiveFlowProcessor<Integer, Integer> processor = AdaptiveFlowProcessor.create(limiter, item -> {
+            CompletableFuture<Integer> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException("boom"));
+            return future;
+        });
+
+        CollectingSubscriber<Integer> subscriber = new CollectingSubscriber<>();
+        processor.subscribe(subscriber);
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            publisher.submit(1);
+        }
+
+        Assert.assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(subscriber.error instanceof IllegalStateException);
+        Assert.assertEquals(0, limiter.getInflight());
+    }
+}
@@ -0,0 +1,124 @@
+package com.bruce.httpclient;
+
+import com.bruce.Limiter;
+import com.bruce.LimiterRegistry;
+import com.bruce.internal.Preconditions;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Client side limiter for {@link HttpClient}.  Each request acquires from the limiter of its host
+ * (authority) and fails fast with {@link LimitExceededException} once that limit is reached, instead of
+ * piling more connections onto a degraded dependency.  The sample is recorded when the response, body
+ * included, completes; nothing blocks on it.  Timeouts, 429 and 503 are reported as drops, other
+ * failures are ignored.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 22:50
+ * @Version 1.0
+ */
+public final class AdaptiveHttpClient {
+
+    public static class Builder {
+        private final HttpClient client;
+        private LimiterRegistry<HttpRequest> registry;
+
+        private Builder(HttpClient client) {
+            this.client = client;
+        }
+
+        public Builder limiterRegistry(LimiterRegistry<HttpRequest> registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        /**
+         * Create one limiter per host on first use.
+         */
+        public Builder limiterPerHost(Supplier<Limiter<HttpRequest>> limiterFactory) {
+            final Map<String, Limiter<HttpRequest>> limiters = new ConcurrentHashMap<>();
+            this.registry = host -> limiters.computeIfAbsent(host, ignored -> limiterFactory.get());
+            return this;
+        }
+
+        public AdaptiveHttpClient build() {
+            Preconditions.checkArgument(registry != null, "No limiter registry specified");
+            return new AdaptiveHttpClient(this);
+        }
+    }
+
+    public static Builder newBuilder(HttpClient client) {
+        return new Builder(client);
+    }
+
+    private final HttpClient client;
+    private final LimiterRegistry<HttpRequest> registry;
+
+    private AdaptiveHttpClient(Builder builder) {
+        this.client = builder.client;
+        this.registry = builder.registry;
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        final String host = request.uri().getAuthority();
+        final Optional<Limiter.Listener> listener = registry.get(host).acquire(request);
+        if (!listener.isPresent()) {
+            return CompletableFuture.failedFuture(new LimitExceededException(host));
+        }
+
+        final CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = client.sendAsync(request, handler);
+        } catch (RuntimeException e) {
+            listener.get().onIgnore();
+            throw e;
+        }
+        return response.whenComplete((result, error) -> {
+            if (error != null) {
+                onError(listener.get(), error);
+            } else if (result.statusCode() == 429 || result.statusCode() == 503) {
+                listener.get().onDropped();
+            } else {
+                listener.get().onSuccess();
+            }
+        });
+    }
+
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        try {
+            return sendAsync(request, handler).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException)e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void onError(Limiter.Listener listener, Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException) {
+            listener.onDropped();
+        } else {
+            listener.onIgnore();
+        }
+    }
+
+    public HttpClient getClient() {
+        return client;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bruce.httpclient;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a request is rejected locally because the adaptive limit for its host has been reached.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 22:50
+ * @Version 1.0
+ */
+public class LimitExceededException extends IOException {
+
+    private final String host;
+
+    public LimitExceededException(String host) {
+        super("Concurrency limit exceeded for " + host);
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bruce.httpclient;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limiter.SimpleLimiter;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveHttpClientTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @Before
+    public void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            if (path.equals("/slow")) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.sendResponseHeaders(path.equals("/unavailable") ? 503 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void stop() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path))
+                .timeout(Duration.ofMillis(500))
+                .build();
+    }
+
+    private Limiter<HttpRequest> recording() {
+        return context -> Optional.of(new Limiter.Listener() {
+            @Override
+            public void onSuccess() {
+                calls.add("success");
+            }
+
+            @Override
+            public void onIgnore() {
+                calls.add("ignore");
+            }
+
+            @Override
+            public void onDropped() {
+                calls.add("dropped");
+            }
+        });
+    }
+
+    @Test(timeout = 10000)
+    public void mapsResponsesAndTimeoutsToListenerCalls() throws Exception {
+        AdaptiveHttpClient client = AdaptiveHttpClient.newBuilder(HttpClient.newHttpClient())
+                .limiterPerHost(this::recording)
+                .build();
+
+        Assert.assertEquals(200, client.send(request("/ok"), HttpResponse.BodyHandlers.discarding()).statusCode());
+        Assert.assertEquals(503, client.send(request("/unavailable"), HttpResponse.BodyHandlers.discarding()).statusCode());
+        try {
+            client.send(request("/slow"), HttpResponse.BodyHandlers.discarding());
+            Assert.fail();
+        } catch (java.net.http.HttpTimeoutException e) {
+            // expected
+        }
+
+        Assert.assertEquals("[success, dropped, dropped]", calls.toString());
+    }
+
+    @Test(timeout = 10000)
+    public void failsFastOnceHostLimitReached() throws Exception {
+        SimpleLimiter<HttpRequest> limiter = SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build();
+        AdaptiveHttpClient client = AdaptiveHttpClient.newBuilder(HttpClient.newHttpClient())
+                .limiterPerHost(() -> limiter)
+                .build();
+
+        CompletableFuture<HttpResponse<Void>> slow = client.sendAsync(request("/slow"), HttpResponse.BodyHandlers.discarding());
+        CompletableFuture<HttpResponse<Void>> rejected = client.sendAsync(request("/ok"), HttpResponse.BodyHandlers.discarding());
+
+        Assert.assertTrue(rejected.isCompletedExceptionally());
+        try {
+            rejected.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof LimitExceededException);
+        }
+
+        release.countDown();
+        Assert.assertEquals(200, slow.get(5, TimeUnit.SECONDS).statusCode());
+        while (limiter.getInflight() != 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
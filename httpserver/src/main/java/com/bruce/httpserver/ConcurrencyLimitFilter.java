@@ -0,0 +1,127 @@
+package com.bruce.httpserver;
+
+import com.bruce.Limiter;
+import com.bruce.internal.Preconditions;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * {@link Filter} for {@link com.sun.net.httpserver.HttpServer} contexts that rejects requests once the
+ * adaptive limit is reached.  Rejections write a preallocated response without invoking the handler.
+ * Completed requests are reported from their status code:
+ * <ul>
+ *     <li>429, 503 and 504 are overload signals and report {@link Limiter.Listener#onDropped()}</li>
+ *     <li>other 5xx codes, missing responses and exceptions are unrelated to load and are ignored</li>
+ *     <li>everything else is a success</li>
+ * </ul>
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 22:05
+ * @Version 1.0
+ */
+public final class ConcurrencyLimitFilter extends Filter {
+
+    public static class Builder {
+        private final Limiter<HttpExchange> limiter;
+        private int rejectStatus = 429;
+        private byte[] rejectBody = "Concurrency limit exceeded".getBytes(StandardCharsets.UTF_8);
+        private String retryAfter;
+
+        private Builder(Limiter<HttpExchange> limiter) {
+            this.limiter = limiter;
+        }
+
+        /**
+         * Status written for rejected requests, usually 429 or 503.
+         */
+        public Builder rejectStatus(int rejectStatus) {
+            Preconditions.checkArgument(rejectStatus >= 400 && rejectStatus < 600, "Reject status must be a 4xx or 5xx code");
+            this.rejectStatus = rejectStatus;
+            return this;
+        }
+
+        public Builder rejectBody(String rejectBody) {
+            this.rejectBody = rejectBody.getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        /**
+         * Value of the Retry-After header added to rejections, in seconds.  No header by default.
+         */
+        public Builder retryAfter(int seconds) {
+            this.retryAfter = Integer.toString(seconds);
+            return this;
+        }
+
+        public ConcurrencyLimitFilter build() {
+            return new ConcurrencyLimitFilter(this);
+        }
+    }
+
+    public static Builder newBuilder(Limiter<HttpExchange> limiter) {
+        return new Builder(limiter);
+    }
+
+    private final Limiter<HttpExchange> limiter;
+    private final int rejectStatus;
+    private final byte[] rejectBody;
+    private final String retryAfter;
+
+    private ConcurrencyLimitFilter(Builder builder) {
+        this.limiter = builder.limiter;
+        this.rejectStatus = builder.rejectStatus;
+        this.rejectBody = builder.rejectBody;
+        this.retryAfter = builder.retryAfter;
+    }
+
+    @Override
+    public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+        final Optional<Limiter.Listener> listener = limiter.acquire(exchange);
+        if (!listener.isPresent()) {
+            reject(exchange);
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            chain.doFilter(exchange);
+            completed = true;
+        } finally {
+            if (completed) {
+                release(listener.get(), exchange.getResponseCode());
+            } else {
+                listener.get().onIgnore();
+            }
+        }
+    }
+
+    private void release(Limiter.Listener listener, int status) {
+        if (status == 429 || status == 503 || status == 504) {
+            listener.onDropped();
+        } else if (status < 0 || status >= 500) {
+            listener.onIgnore();
+        } else {
+            listener.onSuccess();
+        }
+    }
+
+    private void reject(HttpExchange exchange) throws IOException {
+        if (retryAfter != null) {
+            exchange.getResponseHeaders().set("Retry-After", retryAfter);
+        }
+        exchange.sendResponseHeaders(rejectStatus, rejectBody.length == 0 ? -1 : rejectBody.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(rejectBody);
+        }
+    }
+
+    @Override
+    public String description() {
+        return "Concurrency limit filter";
+    }
+}
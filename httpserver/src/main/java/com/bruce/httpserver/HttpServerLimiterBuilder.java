@@ -0,0 +1,47 @@
+package com.bruce.httpserver;
+
+import com.bruce.limiter.AbstractPartitionedLimiter;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Builder for a limiter keyed on an {@link HttpExchange}, with partitions resolved from request headers
+ * or paths.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 22:05
+ * @Version 1.0
+ */
+public final class HttpServerLimiterBuilder extends AbstractPartitionedLimiter.Builder<HttpServerLimiterBuilder, HttpExchange> {
+
+    public static HttpServerLimiterBuilder newBuilder() {
+        return new HttpServerLimiterBuilder();
+    }
+
+    private HttpServerLimiterBuilder() {}
+
+    /**
+     * Partition by the value of a request header, e.g. a tenant or criticality header.
+     */
+    public HttpServerLimiterBuilder partitionByHeader(String name) {
+        return partitionResolver(exchange -> exchange.getRequestHeaders().getFirst(name));
+    }
+
+    /**
+     * Partition by the first path segment, e.g. "/batch/jobs" resolves to "batch".
+     */
+    public HttpServerLimiterBuilder partitionByPathPrefix() {
+        return partitionResolver(exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            if (path == null || path.length() < 2) {
+                return null;
+            }
+            final int end = path.indexOf('/', 1);
+            return end < 0 ? path.substring(1) : path.substring(1, end);
+        });
+    }
+
+    @Override
+    protected HttpServerLimiterBuilder self() {
+        return this;
+    }
+}
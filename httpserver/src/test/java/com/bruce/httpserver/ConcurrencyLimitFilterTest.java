@@ -0,0 +1,207 @@
+package com.bruce.httpserver;
+
+import com.bruce.Limiter;
+import com.bruce.limit.FixedLimit;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+public class ConcurrencyLimitFilterTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private HttpServer server;
+
+    private void start(Limiter<HttpExchange> limiter, HttpHandler handler) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        HttpContext context = server.createContext("/", handler);
+        context.getFilters().add(ConcurrencyLimitFilter.newBuilder(limiter).retryAfter(1).build());
+        server.start();
+    }
+
+    private HttpURLConnection get(String path) throws IOException {
+        return (HttpURLConnection)new URL("http://127.0.0.1:" + server.getAddress().getPort() + path).openConnection();
+    }
+
+    @After
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 10000)
+    public void rejectsOnceLimitReached() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        start(HttpServerLimiterBuilder.newBuilder().limit(FixedLimit.of(1)).build(), exchange -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+
+        Future<Integer> first = executor.submit(() -> get("/").getResponseCode());
+        Assert.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        HttpURLConnection rejected = get("/");
+        Assert.assertEquals(429, rejected.getResponseCode());
+        Assert.assertEquals("1", rejected.getHeaderField("Retry-After"));
+        try (InputStream body = rejected.getErrorStream()) {
+            Assert.assertTrue(body.read() > 0);
+        }
+
+        release.countDown();
+        Assert.assertEquals(200, (int)first.get());
+    }
+
+    @Test(timeout = 10000)
+    public void mapsStatusCodesToListenerCalls() throws Exception {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        Limiter<HttpExchange> recording = context -> Optional.of(new Limiter.Listener() {
+            @Override
+            public void onSuccess() {
+                calls.add("success");
+            }
+
+            @Override
+            public void onIgnore() {
+                calls.add("ignore");
+            }
+
+            @Override
+            public void onDropped() {
+                calls.add("dropped");
+            }
+        });
+        start(recording, exchange -> {
+            exchange.sendResponseHeaders(Integer.parseInt(exchange.getRequestURI().getPath().substring(1)), -1);
+            exchange.close();
+        });
+
+        for (String status : new String[]{"200", "404", "503", "500"}) {
+            get("/" + status).getResponseCode();
+        }
+        while (calls.size() < 4) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        Assert.assertEquals("[success, success, dropped, ignore]", calls.toString());
+    }
+
+    @Test
+    public void releasesPermitWhenHandlerThrowsError() throws Exception {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        Limiter<HttpExchange> recording = context -> Optional.of(new Limiter.Listener() {
+            @Override
+            public void onSuccess() {
+                calls.add("success");
+            }
+
+            @Override
+            public void onIgnore() {
+                calls.add("ignore");
+            }
+
+            @Override
+            public void onDropped() {
+                calls.add("dropped");
+            }
+        });
+        Filter.Chain chain = new Filter.Chain(Collections.emptyList(), exchange -> {
+            throw new AssertionError("handler failed");
+        });
+
+        try {
+            ConcurrencyLimitFilter.newBuilder(recording).build().doFilter(null, chain);
+            Assert.fail();
+        } catch (AssertionError e) {
+            Assert.assertEquals("handler failed", e.getMessage());
+        }
+        Assert.assertEquals("[ignore]", calls.toString());
+    }
+
+    @Test(timeout = 10000)
+    public void partitionsByHeader() throws Exception {
+        assertPartitioned(HttpServerLimiterBuilder.newBuilder().partitionByHeader("X-Tenant"),
+                exchange -> "a".equals(exchange.getRequestHeaders().getFirst("X-Tenant")),
+                tenant -> {
+                    HttpURLConnection connection = get("/");
+                    connection.setRequestProperty("X-Tenant", tenant);
+                    return connection;
+                });
+    }
+
+    @Test(timeout = 10000)
+    public void partitionsByPathPrefix() throws Exception {
+        assertPartitioned(HttpServerLimiterBuilder.newBuilder().partitionByPathPrefix(),
+                exchange -> exchange.getRequestURI().getPath().startsWith("/a/"),
+                tenant -> get("/" + tenant + "/items"));
+    }
+
+    private interface Request {
+        HttpURLConnection open(String partition) throws IOException;
+    }
+
+    /**
+     * Fills the limit of 2 from partition "a", which borrows "b"'s share, then checks that "a" is rejected
+     * while "b" still gets its guaranteed share.
+     */
+    private void assertPartitioned(HttpServerLimiterBuilder builder, Predicate<HttpExchange> blocks, Request request) throws Exception {
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        start(builder.partition("a", 0.5).partition("b", 0.5).limit(FixedLimit.of(2)).build(), exchange -> {
+            if (blocks.test(exchange)) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+
+        List<Future<Integer>> held = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            held.add(executor.submit(() -> request.open("a").getResponseCode()));
+        }
+        Assert.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        Assert.assertEquals(429, request.open("a").getResponseCode());
+        Assert.assertEquals(200, request.open("b").getResponseCode());
+
+        release.countDown();
+        for (Future<Integer> future : held) {
+            Assert.assertEquals(200, (int)future.get());
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.bruce.jdbc;
+
+import com.bruce.Limiter;
+import com.bruce.limit.Gradient2Limit;
+import com.bruce.limiter.SimpleLimiter;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * {@link DataSource} decorator that acquires from a {@link Limiter} around every {@code Statement.execute*}
+ * call, so that the number of concurrently executing statements adapts to the database latency instead
+ * of being a static pool size.  The limiter context is the statement's SQL, when known, so partitions can
+ * be resolved from it.  Latency covers execution only, not iterating over a returned {@code ResultSet}.
+ * Result sets are wrapped too, so that {@code getStatement()} returns the wrapped statement, and all
+ * wrappers compare equal only to themselves.
+ *
+ * <p>Exceptions that signal an overloaded database (timeouts, lock timeouts, deadlocks, connection errors)
+ * are reported as drops; other {@link SQLException}s are ignored.  Statements rejected by the limiter fail
+ * with {@link SQLTransientException} without reaching the database.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 23:05
+ * @Version 1.0
+ */
+public final class AdaptiveDataSource implements DataSource {
+
+    public static class Builder {
+        private final DataSource delegate;
+        private Limiter<String> limiter;
+        private Predicate<SQLException> dropPredicate = AdaptiveDataSource::isOverload;
+
+        private Builder(DataSource delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Defaults to a non-blocking {@link SimpleLimiter} driven by {@link Gradient2Limit}.
+         */
+        public Builder limiter(Limiter<String> limiter) {
+            this.limiter = limiter;
+            return this;
+        }
+
+        /**
+         * Decides which exceptions are reported as drops.  Defaults to {@link AdaptiveDataSource#isOverload}.
+         */
+        public Builder dropPredicate(Predicate<SQLException> dropPredicate) {
+            this.dropPredicate = dropPredicate;
+            return this;
+        }
+
+        public AdaptiveDataSource build() {
+            if (limiter == null) {
+                limiter = SimpleLimiter.newBuilder().limit(Gradient2Limit.newDefault()).build();
+            }
+            return new AdaptiveDataSource(this);
+        }
+    }
+
+    public static Builder newBuilder(DataSource delegate) {
+        return new Builder(delegate);
+    }
+
+    /**
+     * True for exceptions caused by the database being slow or unreachable rather than by the statement:
+     * timeouts, connection errors, deadlocks/serialization failures (40001, 40P01) and lock timeouts
+     * (HYT00, 55P03).
+     */
+    public static boolean isOverload(SQLException e) {
+        if (e instanceof SQLTimeoutException
+                || e instanceof SQLTransientConnectionException
+                || e instanceof SQLNonTransientConnectionException
+                || e instanceof SQLRecoverableException) {
+            return true;
+        }
+        final String state = e.getSQLState();
+        return state != null && (state.startsWith("08")
+                || state.equals("40001")
+                || state.equals("40P01")
+                || state.equals("HYT00")
+                || state.equals("HYT01")
+                || state.equals("55P03"));
+    }
+
+    private final DataSource delegate;
+    private final Limiter<String> limiter;
+    private final Predicate<SQLException> dropPredicate;
+
+    private AdaptiveDataSource(Builder builder) {
+        this.delegate = builder.delegate;
+        this.limiter = builder.limiter;
+        this.dropPredicate = builder.dropPredicate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(delegate.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection)Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Answers equals, hashCode and toString by proxy identity, since the target cannot know its proxy.
+     */
+    private abstract static class ProxyHandler implements InvocationHandler {
+        private final Object target;
+
+        ProxyHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Adaptive[" + target + "]";
+                    default:
+                        break;
+                }
+            }
+            return invokeTarget(proxy, method, args);
+        }
+
+        protected abstract Object invokeTarget(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    private final class ConnectionHandler extends ProxyHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            super(connection);
+            this.connection = connection;
+        }
+
+        @Override
+        protected Object invokeTarget(Object proxy, Method method, Object[] args) throws Throwable {
+            final Object result = AdaptiveDataSource.invoke(connection, method, args);
+            switch (method.getName()) {
+                case "createStatement":
+                    return wrap((Connection)proxy, (Statement)result, Statement.class, null);
+                case "prepareStatement":
+                    return wrap((Connection)proxy, (Statement)result, PreparedStatement.class, (String)args[0]);
+                case "prepareCall":
+                    return wrap((Connection)proxy, (Statement)result, CallableStatement.class, (String)args[0]);
+                default:
+                    return result;
+            }
+        }
+
+        private Object wrap(Connection proxy, Statement statement, Class<? extends Statement> type, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(proxy, statement, sql));
+        }
+    }
+
+    private final class StatementHandler extends ProxyHandler {
+        private final Connection connection;
+        private final Statement statement;
+        private final String sql;
+
+        StatementHandler(Connection connection, Statement statement, String sql) {
+            super(statement);
+            this.connection = connection;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        protected Object invokeTarget(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }
+            if (!method.getName().startsWith("execute")) {
+                return wrapResultSet((Statement)proxy, AdaptiveDataSource.invoke(statement, method, args));
+            }
+
+            final String context = args != null && args.length > 0 && args[0] instanceof String ? (String)args[0] : sql;
+            final Optional<Limiter.Listener> listener = limiter.acquire(context);
+            if (!listener.isPresent()) {
+                throw new SQLTransientException("Concurrency limit exceeded");
+            }
+
+            final Object result;
+            try {
+                result = AdaptiveDataSource.invoke(statement, method, args);
+            } catch (SQLException e) {
+                if (dropPredicate.test(e)) {
+                    listener.get().onDropped();
+                } else {
+                    listener.get().onIgnore();
+                }
+                throw e;
+            } catch (Throwable e) {
+                listener.get().onIgnore();
+                throw e;
+            }
+            listener.get().onSuccess();
+            return wrapResultSet((Statement)proxy, result);
+        }
+
+        private Object wrapResultSet(Statement proxy, Object result) {
+            if (!(result instanceof ResultSet)) {
+                return result;
+            }
+            return Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    new ResultSetHandler(proxy, (ResultSet)result));
+        }
+    }
+
+    private static final class ResultSetHandler extends ProxyHandler {
+        private final Statement statement;
+        private final ResultSet resultSet;
+
+        ResultSetHandler(Statement statement, ResultSet resultSet) {
+            super(resultSet);
+            this.statement = statement;
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        protected Object invokeTarget(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("getStatement")) {
+                return statement;
+            }
+            return AdaptiveDataSource.invoke(resultSet, method, args);
+        }
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    public Limiter<String> getLimiter() {
+        return limiter;
+    }
+}
@@ -0,0 +1,154 @@
+package com.bruce.jdbc;
+
+import com.bruce.Limiter;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class AdaptiveDataSourceTest {
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final List<String> contexts = new CopyOnWriteArrayList<>();
+    private JdbcDataSource h2;
+    private Connection keepAlive;
+
+    private final Limiter<String> recording = context -> {
+        contexts.add(context);
+        return Optional.of(new Limiter.Listener() {
+            @Override
+            public void onSuccess() {
+                calls.add("success");
+            }
+
+            @Override
+            public void onIgnore() {
+                calls.add("ignore");
+            }
+
+            @Override
+            public void onDropped() {
+                calls.add("dropped");
+            }
+        });
+    };
+
+    @Before
+    public void setup() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:adaptive;DB_CLOSE_DELAY=-1");
+        keepAlive = h2.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE account (id INT PRIMARY KEY, balance INT)");
+            statement.execute("INSERT INTO account VALUES (1, 100)");
+        }
+    }
+
+    @After
+    public void teardown() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        keepAlive.close();
+    }
+
+    @Test
+    public void recordsSuccessfulStatements() throws SQLException {
+        AdaptiveDataSource dataSource = AdaptiveDataSource.newBuilder(h2).limiter(recording).build();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT balance FROM account WHERE id = ?")) {
+            statement.setInt(1, 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                Assert.assertTrue(rs.next());
+                Assert.assertEquals(100, rs.getInt(1));
+            }
+            Assert.assertSame(connection, statement.getConnection());
+        }
+
+        Assert.assertEquals("[success]", calls.toString());
+        Assert.assertEquals("[SELECT balance FROM account WHERE id = ?]", contexts.toString());
+    }
+
+    @Test
+    public void proxiesHaveIdentityAndResultSetsReturnWrappedStatement() throws SQLException {
+        AdaptiveDataSource dataSource = AdaptiveDataSource.newBuilder(h2).limiter(recording).build();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            Assert.assertEquals(connection, connection);
+            Assert.assertEquals(statement, statement);
+            Assert.assertEquals(System.identityHashCode(statement), statement.hashCode());
+            Assert.assertNotEquals(statement, statement.unwrap(Statement.class));
+
+            try (ResultSet rs = statement.executeQuery("SELECT balance FROM account")) {
+                Assert.assertSame(statement, rs.getStatement());
+                Assert.assertEquals(rs, rs);
+            }
+            statement.execute("SELECT balance FROM account");
+            try (ResultSet rs = statement.getResultSet()) {
+                Assert.assertSame(statement, rs.getStatement());
+            }
+        }
+    }
+
+    @Test
+    public void reportsLockTimeoutAsDrop() throws SQLException {
+        AdaptiveDataSource dataSource = AdaptiveDataSource.newBuilder(h2).limiter(recording).build();
+
+        try (Connection holder = h2.getConnection();
+             Connection waiter = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (Statement statement = holder.createStatement()) {
+                statement.executeUpdate("UPDATE account SET balance = 0 WHERE id = 1");
+            }
+
+            try (Statement statement = waiter.createStatement()) {
+                statement.execute("SET LOCK_TIMEOUT 100");
+                statement.executeUpdate("UPDATE account SET balance = 50 WHERE id = 1");
+                Assert.fail();
+            } catch (SQLException e) {
+                Assert.assertTrue(AdaptiveDataSource.isOverload(e));
+            }
+            holder.rollback();
+        }
+
+        Assert.assertEquals("[success, dropped]", calls.toString());
+    }
+
+    @Test
+    public void ignoresStatementErrors() throws SQLException {
+        AdaptiveDataSource dataSource = AdaptiveDataSource.newBuilder(h2).limiter(recording).build();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT missing FROM account");
+            Assert.fail();
+        } catch (SQLException e) {
+            Assert.assertFalse(AdaptiveDataSource.isOverload(e));
+        }
+
+        Assert.assertEquals("[ignore]", calls.toString());
+    }
+
+    @Test(expected = SQLTransientException.class)
+    public void rejectsWithoutReachingDatabase() throws SQLException {
+        AdaptiveDataSource dataSource = AdaptiveDataSource.newBuilder(h2).limiter(context -> Optional.empty()).build();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE account SET balance = 0 WHERE id = 1");
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.bruce.loadtest;
+
+import com.bruce.Limiter;
+import com.bruce.internal.Preconditions;
+import org.HdrHistogram.Recorder;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drives a target through a {@link Limiter} in real time and reports latency, goodput and rejections.
+ *
+ * <p>Open loop sends requests at a constant arrival rate regardless of how fast they complete and
+ * measures latency from the time each request was scheduled to be sent, so a stalled generator does
+ * not hide queueing.  Closed loop runs a fixed number of threads that each pace themselves to one
+ * request per expected interval and corrects for coordinated omission with
+ * {@link org.HdrHistogram.Histogram#recordValueWithExpectedInterval(long, long)}.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 00:10
+ * @Version 1.0
+ */
+public final class LoadTest<ContextT> {
+
+    @FunctionalInterface
+    public interface Target {
+        void call() throws Exception;
+    }
+
+    public static class Builder<ContextT> {
+        private final Limiter<ContextT> limiter;
+        private final Target target;
+        private String name = "loadtest";
+        private Supplier<ContextT> context = () -> null;
+        private long duration = TimeUnit.SECONDS.toNanos(10);
+        private long timeout = Long.MAX_VALUE;
+        private long interval;
+        private int threads;
+        private int maxOutstanding = 10000;
+
+        private Builder(Limiter<ContextT> limiter, Target target) {
+            this.limiter = limiter;
+            this.target = target;
+        }
+
+        public Builder<ContextT> name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder<ContextT> context(Supplier<ContextT> context) {
+            this.context = context;
+            return this;
+        }
+
+        public Builder<ContextT> duration(long duration, TimeUnit units) {
+            this.duration = units.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Requests slower than the timeout are counted as dropped and reported with
+         * {@link Limiter.Listener#onDropped()}, as if the client had given up on them.
+         */
+        public Builder<ContextT> timeout(long timeout, TimeUnit units) {
+            this.timeout = units.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Send requests at a constant rate, independent of response times.
+         */
+        public Builder<ContextT> openLoop(double requestsPerSecond) {
+            Preconditions.checkArgument(requestsPerSecond > 0, "Rate must be > 0");
+            this.interval = (long)(1e9 / requestsPerSecond);
+            this.threads = 0;
+            return this;
+        }
+
+        /**
+         * Run {@code threads} senders that each wait for a response before sending the next request, at
+         * most one request per {@code interval}.
+         */
+        public Builder<ContextT> closedLoop(int threads, long interval, TimeUnit units) {
+            Preconditions.checkArgument(threads >= 1, "Threads must be >= 1");
+            this.threads = threads;
+            this.interval = units.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Max requests in progress in open loop mode before the generator itself stalls.
+         */
+        public Builder<ContextT> maxOutstanding(int maxOutstanding) {
+            this.maxOutstanding = maxOutstanding;
+            return this;
+        }
+
+        public LoadTest<ContextT> build() {
+            Preconditions.checkArgument(interval > 0, "No open or closed loop generator configured");
+            return new LoadTest<>(this);
+        }
+    }
+
+    public static <ContextT> Builder<ContextT> newBuilder(Limiter<ContextT> limiter, Target target) {
+        return new Builder<>(limiter, target);
+    }
+
+    private final Builder<ContextT> config;
+    private final Recorder corrected = new Recorder(3);
+    private final Recorder uncorrected = new Recorder(3);
+    private final LongAdder offered = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private LoadTest(Builder<ContextT> builder) {
+        this.config = builder;
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        final long start = System.nanoTime();
+        if (config.threads == 0) {
+            runOpenLoop(start);
+        } else {
+            runClosedLoop(start);
+        }
+        return new LoadTestReport(config.name, System.nanoTime() - start,
+                offered.sum(), succeeded.sum(), rejected.sum(), dropped.sum(), failed.sum(),
+                corrected.getIntervalHistogram(), uncorrected.getIntervalHistogram());
+    }
+
+    private void runOpenLoop(long start) throws InterruptedException {
+        final ExecutorService senders = Executors.newCachedThreadPool(LoadTest::daemon);
+        final Semaphore outstanding = new Semaphore(config.maxOutstanding);
+        try {
+            for (long i = 0; ; i++) {
+                final long intended = start + i * config.interval;
+                if (intended - start >= config.duration) {
+                    break;
+                }
+                final long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                outstanding.acquire();
+                senders.execute(() -> {
+                    try {
+                        send(intended, 0);
+                    } finally {
+                        outstanding.release();
+                    }
+                });
+            }
+        } finally {
+            senders.shutdown();
+            senders.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private void runClosedLoop(long start) throws InterruptedException {
+        final ExecutorService senders = Executors.newFixedThreadPool(config.threads, LoadTest::daemon);
+        for (int t = 0; t < config.threads; t++) {
+            senders.execute(() -> {
+                long next = start;
+                while (next - start < config.duration && !Thread.currentThread().isInterrupted()) {
+                    final long wait = next - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    final long now = System.nanoTime();
+                    send(now, config.interval);
+                    next = Math.max(next + config.interval, now);
+                }
+            });
+        }
+        senders.shutdown();
+        senders.awaitTermination(config.duration + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+    }
+
+    private void send(long intended, long expectedInterval) {
+        offered.increment();
+        final Optional<Limiter.Listener> listener = config.limiter.acquire(config.context.get());
+        if (!listener.isPresent()) {
+            rejected.increment();
+            return;
+        }
+
+        final long sent = System.nanoTime();
+        try {
+            config.target.call();
+        } catch (InterruptedException e) {
+            listener.get().onIgnore();
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            listener.get().onIgnore();
+            failed.increment();
+            return;
+        }
+
+        final long end = System.nanoTime();
+        uncorrected.recordValue(end - sent);
+        corrected.recordValueWithExpectedInterval(end - intended, expectedInterval);
+        if (end - intended > config.timeout) {
+            listener.get().onDropped();
+            dropped.increment();
+        } else {
+            listener.get().onSuccess();
+            succeeded.increment();
+        }
+    }
+
+    private static Thread daemon(Runnable runnable) {
+        final Thread thread = new Thread(runnable, "loadtest-sender");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bruce.loadtest;
+
+import com.bruce.Limit;
+import com.bruce.limit.AimdLimit;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limit.Gradient2Limit;
+import com.bruce.limit.VegasLimit;
+import com.bruce.limiter.SimpleLimiter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs each built-in limit algorithm against a synthetic service offered twice its capacity in open loop.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 00:10
+ * @Version 1.0
+ */
+public final class LoadTestMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        final SyntheticService service = SyntheticService.newBuilder()
+                .workers(8)
+                .serviceTime(5, TimeUnit.MILLISECONDS)
+                .build();
+        final double rate = service.getCapacity() * Double.parseDouble(System.getProperty("overload", "2"));
+        final long duration = Long.getLong("duration", 10);
+        System.out.printf("%s capacity=%.0f/s offered=%.0f/s duration=%d s%n", service, service.getCapacity(), rate, duration);
+
+        final Map<String, Supplier<Limit>> limits = new LinkedHashMap<>();
+        limits.put("unlimited", () -> FixedLimit.of(Integer.MAX_VALUE));
+        limits.put("fixed(8)", () -> FixedLimit.of(8));
+        limits.put("vegas", VegasLimit::newDefault);
+        limits.put("gradient2", Gradient2Limit::newDefault);
+        limits.put("aimd", () -> AimdLimit.newBuilder().timeout(100, TimeUnit.MILLISECONDS).build());
+
+        for (Map.Entry<String, Supplier<Limit>> entry : limits.entrySet()) {
+            final LoadTestReport report = LoadTest.newBuilder(SimpleLimiter.newBuilder().limit(entry.getValue().get()).build(), service::call)
+                    .name(entry.getKey())
+                    .openLoop(rate)
+                    .duration(duration, TimeUnit.SECONDS)
+                    .timeout(250, TimeUnit.MILLISECONDS)
+                    .build()
+                    .run();
+            System.out.println(report);
+        }
+    }
+
+    private LoadTestMain() {}
+}
@@ -0,0 +1,112 @@
+package com.bruce.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author: Bruce
+ * @Date: 2026/10/20 00:10
+ * @Version 1.0
+ */
+public final class LoadTestReport {
+
+    private final String name;
+    private final long duration;
+    private final long offered;
+    private final long succeeded;
+    private final long rejected;
+    private final long dropped;
+    private final long failed;
+    private final Histogram corrected;
+    private final Histogram uncorrected;
+
+    LoadTestReport(String name, long duration, long offered, long succeeded, long rejected, long dropped, long failed,
+                   Histogram corrected, Histogram uncorrected) {
+        this.name = name;
+        this.duration = duration;
+        this.offered = offered;
+        this.succeeded = succeeded;
+        this.rejected = rejected;
+        this.dropped = dropped;
+        this.failed = failed;
+        this.corrected = corrected;
+        this.uncorrected = uncorrected;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getOffered() {
+        return offered;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Requests per second that completed within the timeout.
+     */
+    public double getGoodput() {
+        return succeeded / (duration / 1e9);
+    }
+
+    public double getRejectRate() {
+        return offered == 0 ? 0 : (double)rejected / offered;
+    }
+
+    /**
+     * Latency of admitted requests measured from when they should have been sent.
+     */
+    public long getLatencyPercentile(double percentile, TimeUnit units) {
+        return units.convert(corrected.getValueAtPercentile(percentile), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Latency of admitted requests measured from when they were actually sent, i.e. what a naive
+     * benchmark would report.
+     */
+    public long getUncorrectedLatencyPercentile(double percentile, TimeUnit units) {
+        return units.convert(uncorrected.getValueAtPercentile(percentile), TimeUnit.NANOSECONDS);
+    }
+
+    public Histogram getHistogram() {
+        return corrected;
+    }
+
+    /**
+     * Print the full corrected percentile distribution in milliseconds.
+     */
+    public void printHistogram(PrintStream out) {
+        corrected.outputPercentileDistribution(out, 1e6);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-16s goodput=%8.1f/s rejected=%5.1f%% dropped=%6d p50=%8.2f ms p99=%8.2f ms p999=%8.2f ms max=%8.2f ms (uncorrected p99=%7.2f ms)",
+                name,
+                getGoodput(),
+                getRejectRate() * 100,
+                dropped,
+                corrected.getValueAtPercentile(50) / 1e6,
+                corrected.getValueAtPercentile(99) / 1e6,
+                corrected.getValueAtPercentile(99.9) / 1e6,
+                corrected.getMaxValue() / 1e6,
+                uncorrected.getValueAtPercentile(99) / 1e6);
+    }
+}
@@ -0,0 +1,97 @@
+package com.bruce.loadtest;
+
+import com.bruce.internal.Preconditions;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Service with a fixed number of workers and a random service time.  Calls beyond the number of workers
+ * wait in a FIFO queue, so latency grows with load the way a thread pool or connection pool does.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/20 00:10
+ * @Version 1.0
+ */
+public final class SyntheticService {
+
+    public static class Builder {
+        private int workers = 8;
+        private long serviceTime = TimeUnit.MILLISECONDS.toNanos(5);
+        private boolean exponential = true;
+
+        private Builder() {}
+
+        public Builder workers(int workers) {
+            Preconditions.checkArgument(workers >= 1, "Workers must be >= 1");
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Mean service time of a single call once it has a worker.
+         */
+        public Builder serviceTime(long serviceTime, TimeUnit units) {
+            this.serviceTime = units.toNanos(serviceTime);
+            return this;
+        }
+
+        /**
+         * Use a constant service time instead of an exponential distribution around the mean.
+         */
+        public Builder constant() {
+            this.exponential = false;
+            return this;
+        }
+
+        public SyntheticService build() {
+            return new SyntheticService(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    private final Semaphore workers;
+    private final int workerCount;
+    private final long serviceTime;
+    private final boolean exponential;
+
+    private SyntheticService(Builder builder) {
+        this.workers = new Semaphore(builder.workers, true);
+        this.workerCount = builder.workers;
+        this.serviceTime = builder.serviceTime;
+        this.exponential = builder.exponential;
+    }
+
+    public void call() throws InterruptedException {
+        workers.acquire();
+        try {
+            LockSupport.parkNanos(nextServiceTime());
+        } finally {
+            workers.release();
+        }
+    }
+
+    private long nextServiceTime() {
+        if (!exponential) {
+            return serviceTime;
+        }
+        return (long)(-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * serviceTime);
+    }
+
+    /**
+     * Calls per second the service completes when it is saturated.
+     */
+    public double getCapacity() {
+        return workerCount * 1e9 / serviceTime;
+    }
+
+    @Override
+    public String toString() {
+        return "SyntheticService [workers=" + workerCount + ", serviceTime=" + serviceTime / 1e6 + " ms]";
+    }
+}
@@ -0,0 +1,51 @@
+package com.bruce.loadtest;
+
+import com.bruce.limit.FixedLimit;
+import com.bruce.limiter.SimpleLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class LoadTestTest {
+
+    @Test(timeout = 10000)
+    public void openLoopRejectsUnderOverload() throws Exception {
+        SyntheticService service = SyntheticService.newBuilder()
+                .workers(2)
+                .serviceTime(5, TimeUnit.MILLISECONDS)
+                .constant()
+                .build();
+
+        LoadTestReport report = LoadTest.newBuilder(SimpleLimiter.newBuilder().limit(FixedLimit.of(2)).build(), service::call)
+                .openLoop(service.getCapacity() * 4)
+                .duration(500, TimeUnit.MILLISECONDS)
+                .build()
+                .run();
+
+        Assert.assertTrue(report.getOffered() > 500);
+        Assert.assertEquals(report.getOffered(), report.getSucceeded() + report.getRejected() + report.getDropped() + report.getFailed());
+        Assert.assertTrue(report.getRejectRate() > 0.5);
+        Assert.assertTrue(report.getLatencyPercentile(50, TimeUnit.MILLISECONDS) < 50);
+    }
+
+    @Test(timeout = 10000)
+    public void closedLoopCorrectsForCoordinatedOmission() throws Exception {
+        AtomicBoolean stalled = new AtomicBoolean();
+        LoadTest.Target target = () -> {
+            if (!stalled.getAndSet(true)) {
+                TimeUnit.MILLISECONDS.sleep(200);
+            }
+        };
+
+        LoadTestReport report = LoadTest.newBuilder(SimpleLimiter.newBuilder().limit(FixedLimit.of(1)).build(), target)
+                .closedLoop(1, 1, TimeUnit.MILLISECONDS)
+                .duration(500, TimeUnit.MILLISECONDS)
+                .build()
+                .run();
+
+        Assert.assertTrue(report.getUncorrectedLatencyPercentile(90, TimeUnit.MILLISECONDS) < 10);
+        Assert.assertTrue(report.getLatencyPercentile(90, TimeUnit.MILLISECONDS) >= 50);
+    }
+}
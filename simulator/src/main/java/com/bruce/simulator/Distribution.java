@@ -0,0 +1,40 @@
+package com.bruce.simulator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Source of simulated service times, in nanoseconds.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 13:08
+ * @Version 1.0
+ */
+public interface Distribution {
+
+    long sample(Random random);
+
+    static Distribution constant(long value, TimeUnit units) {
+        final long nanos = units.toNanos(value);
+        return random -> nanos;
+    }
+
+    static Distribution uniform(long min, long max, TimeUnit units) {
+        final long minNanos = units.toNanos(min);
+        final long range = units.toNanos(max) - minNanos;
+        return random -> minNanos + (long)(random.nextDouble() * range);
+    }
+
+    static Distribution exponential(long mean, TimeUnit units) {
+        final double meanNanos = units.toNanos(mean);
+        return random -> Math.max(1, (long)(-Math.log(1 - random.nextDouble()) * meanNanos));
+    }
+
+    /**
+     * Log-normal distribution, which models the long tail of most real services reasonably well.
+     */
+    static Distribution logNormal(long median, TimeUnit units, double sigma) {
+        final double mu = Math.log(units.toNanos(median));
+        return random -> Math.max(1, (long)Math.exp(mu + sigma * random.nextGaussian()));
+    }
+}
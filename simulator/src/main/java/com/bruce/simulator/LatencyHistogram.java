@@ -0,0 +1,48 @@
+package com.bruce.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Fixed memory log-bucketed histogram with ~1% relative precision.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 13:12
+ * @Version 1.0
+ */
+final class LatencyHistogram {
+
+    private static final double BASE = Math.log(1.01);
+    private static final int BUCKETS = (int)(Math.log(Long.MAX_VALUE) / BASE) + 2;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+
+    void record(long value) {
+        counts[value <= 1 ? 0 : (int)(Math.log(value) / BASE) + 1]++;
+        total++;
+    }
+
+    long getTotal() {
+        return total;
+    }
+
+    long percentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = (long)Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return i == 0 ? 1 : (long)Math.exp(i * BASE);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+}
@@ -0,0 +1,134 @@
+package com.bruce.simulator;
+
+import com.bruce.internal.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description of a simulated server and the load offered to it.  Capacity and arrival rate may change at
+ * fixed points in simulated time to observe how quickly a limit algorithm re-converges.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 13:20
+ * @Version 1.0
+ */
+public final class Scenario {
+
+    static final class Change {
+        final long time;
+        final int capacity;
+        final double arrivalRate;
+
+        Change(long time, int capacity, double arrivalRate) {
+            this.time = time;
+            this.capacity = capacity;
+            this.arrivalRate = arrivalRate;
+        }
+    }
+
+    public static class Builder {
+        private long duration = TimeUnit.SECONDS.toNanos(60);
+        private int capacity = 20;
+        private double arrivalRate = 2000;
+        private Distribution serviceTime = Distribution.exponential(5, TimeUnit.MILLISECONDS);
+        private long timeout = TimeUnit.SECONDS.toNanos(1);
+        private long seed = 1;
+        private double convergenceTolerance = 0.2;
+        private final List<Change> changes = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder duration(long duration, TimeUnit units) {
+            this.duration = units.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Number of requests the server processes concurrently; additional admitted requests wait in a FIFO queue.
+         */
+        public Builder capacity(int capacity) {
+            Preconditions.checkArgument(capacity > 0, "Capacity must be > 0");
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Mean Poisson arrival rate in requests per simulated second.
+         */
+        public Builder arrivalRate(double perSecond) {
+            Preconditions.checkArgument(perSecond > 0, "Arrival rate must be > 0");
+            this.arrivalRate = perSecond;
+            return this;
+        }
+
+        public Builder serviceTime(Distribution serviceTime) {
+            this.serviceTime = serviceTime;
+            return this;
+        }
+
+        /**
+         * Requests whose latency exceeds the timeout count as dropped and do not contribute to goodput.
+         */
+        public Builder timeout(long timeout, TimeUnit units) {
+            this.timeout = units.toNanos(timeout);
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder convergenceTolerance(double tolerance) {
+            Preconditions.checkArgument(tolerance > 0, "Tolerance must be > 0");
+            this.convergenceTolerance = tolerance;
+            return this;
+        }
+
+        public Builder capacityAt(long time, TimeUnit units, int capacity) {
+            Preconditions.checkArgument(capacity > 0, "Capacity must be > 0");
+            changes.add(new Change(units.toNanos(time), capacity, 0));
+            return this;
+        }
+
+        public Builder arrivalRateAt(long time, TimeUnit units, double perSecond) {
+            Preconditions.checkArgument(perSecond > 0, "Arrival rate must be > 0");
+            changes.add(new Change(units.toNanos(time), 0, perSecond));
+            return this;
+        }
+
+        public Scenario build() {
+            return new Scenario(this);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    final long duration;
+    final int capacity;
+    final double arrivalRate;
+    final Distribution serviceTime;
+    final long timeout;
+    final long seed;
+    final double convergenceTolerance;
+    final List<Change> changes;
+
+    private Scenario(Builder builder) {
+        this.duration = builder.duration;
+        this.capacity = builder.capacity;
+        this.arrivalRate = builder.arrivalRate;
+        this.serviceTime = builder.serviceTime;
+        this.timeout = builder.timeout;
+        this.seed = builder.seed;
+        this.convergenceTolerance = builder.convergenceTolerance;
+
+        final List<Change> changes = new ArrayList<>(builder.changes);
+        changes.sort((a, b) -> Long.compare(a.time, b.time));
+        this.changes = Collections.unmodifiableList(changes);
+    }
+}
@@ -0,0 +1,259 @@
+package com.bruce.simulator;
+
+import com.bruce.Limiter;
+import com.bruce.limiter.AbstractLimiter;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single threaded discrete-event simulation of a {@link Scenario} against a limiter.  All randomness comes
+ * from the scenario seed and all timing from a {@link VirtualClock}, so a run is reproducible and runs
+ * as fast as the event loop allows.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 13:41
+ * @Version 1.0
+ */
+public final class Simulation {
+
+    public interface LimiterFactory {
+        AbstractLimiter<Void> create(Supplier<Long> clock);
+    }
+
+    private static final int ARRIVAL = 0;
+    private static final int COMPLETION = 1;
+    private static final int CHANGE = 2;
+
+    private static final class Request {
+        private final long arrivalTime;
+        private final Limiter.Listener listener;
+
+        Request(long arrivalTime, Limiter.Listener listener) {
+            this.arrivalTime = arrivalTime;
+            this.listener = listener;
+        }
+    }
+
+    private static final class Event implements Comparable<Event> {
+        private final long time;
+        private final long sequence;
+        private final int type;
+        private final Object payload;
+
+        Event(long time, long sequence, int type, Object payload) {
+            this.time = time;
+            this.sequence = sequence;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int result = Long.compare(time, other.time);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    public static SimulationReport run(String name, Scenario scenario, LimiterFactory factory) {
+        return new Simulation(scenario, factory).run(name);
+    }
+
+    private final Scenario scenario;
+    private final VirtualClock clock = new VirtualClock();
+    private final AbstractLimiter<Void> limiter;
+    private final Random random;
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final ArrayDeque<Request> waiting = new ArrayDeque<>();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private long sequence;
+    private int capacity;
+    private int busy;
+    private double arrivalRate;
+
+    private long arrivals;
+    private long rejected;
+    private long succeeded;
+    private long timedOut;
+
+    private long[] limitTimes = new long[1024];
+    private int[] limitValues = new int[1024];
+    private int limitChanges;
+    private long[] phaseStarts;
+
+    private Simulation(Scenario scenario, LimiterFactory factory) {
+        this.scenario = scenario;
+        this.limiter = factory.create(clock);
+        this.random = new Random(scenario.seed);
+        this.capacity = scenario.capacity;
+        this.arrivalRate = scenario.arrivalRate;
+    }
+
+    private void schedule(long time, int type, Object payload) {
+        events.add(new Event(time, sequence++, type, payload));
+    }
+
+    private long nextInterArrival() {
+        return Math.max(1, (long)(-Math.log(1 - random.nextDouble()) * TimeUnit.SECONDS.toNanos(1) / arrivalRate));
+    }
+
+    private SimulationReport run(String name) {
+        final long wallStart = System.nanoTime();
+
+        phaseStarts = new long[scenario.changes.size() + 1];
+        for (int i = 0; i < scenario.changes.size(); i++) {
+            Scenario.Change change = scenario.changes.get(i);
+            phaseStarts[i + 1] = change.time;
+            schedule(change.time, CHANGE, change);
+        }
+        recordLimit();
+        schedule(nextInterArrival(), ARRIVAL, null);
+
+        Event event;
+        while ((event = events.poll()) != null && event.time <= scenario.duration) {
+            clock.advanceTo(event.time);
+            switch (event.type) {
+                case ARRIVAL:
+                    onArrival();
+                    break;
+                case COMPLETION:
+                    onCompletion((Request) event.payload);
+                    break;
+                default:
+                    onChange((Scenario.Change) event.payload);
+                    break;
+            }
+        }
+
+        return new SimulationReport(
+                name,
+                scenario.duration,
+                arrivals,
+                rejected,
+                succeeded,
+                timedOut,
+                latencies,
+                convergenceTime(),
+                limiter.getLimit(),
+                System.nanoTime() - wallStart);
+    }
+
+    private void onArrival() {
+        arrivals++;
+        schedule(clock.nanoTime() + nextInterArrival(), ARRIVAL, null);
+
+        final Optional<Limiter.Listener> listener = limiter.acquire(null);
+        if (!listener.isPresent()) {
+            rejected++;
+            return;
+        }
+
+        final Request request = new Request(clock.nanoTime(), listener.get());
+        if (busy < capacity) {
+            start(request);
+        } else {
+            waiting.addLast(request);
+        }
+    }
+
+    private void start(Request request) {
+        busy++;
+        schedule(clock.nanoTime() + scenario.serviceTime.sample(random), COMPLETION, request);
+    }
+
+    private void onCompletion(Request request) {
+        busy--;
+        final long latency = clock.nanoTime() - request.arrivalTime;
+        latencies.record(latency);
+        if (latency > scenario.timeout) {
+            timedOut++;
+            request.listener.onDropped();
+        } else {
+            succeeded++;
+            request.listener.onSuccess();
+        }
+        recordLimit();
+        startWaiting();
+    }
+
+    private void onChange(Scenario.Change change) {
+        if (change.capacity > 0) {
+            capacity = change.capacity;
+            startWaiting();
+        }
+        if (change.arrivalRate > 0) {
+            arrivalRate = change.arrivalRate;
+        }
+    }
+
+    private void startWaiting() {
+        while (busy < capacity && !waiting.isEmpty()) {
+            start(waiting.pollFirst());
+        }
+    }
+
+    private void recordLimit() {
+        final int limit = limiter.getLimit();
+        if (limitChanges > 0 && limitValues[limitChanges - 1] == limit) {
+            return;
+        }
+        if (limitChanges == limitTimes.length) {
+            limitTimes = Arrays.copyOf(limitTimes, limitChanges * 2);
+            limitValues = Arrays.copyOf(limitValues, limitChanges * 2);
+        }
+        limitTimes[limitChanges] = clock.nanoTime();
+        limitValues[limitChanges] = limit;
+        limitChanges++;
+    }
+
+    /**
+     * For each phase between capacity or load changes the settled limit is the time weighted average over
+     * the last quarter of the phase.  The phase has converged once the limit stays within the tolerance of
+     * the settled value; the slowest phase is reported.
+     */
+    private long convergenceTime() {
+        long worst = 0;
+        for (int phase = 0; phase < phaseStarts.length; phase++) {
+            final long start = phaseStarts[phase];
+            final long end = phase + 1 < phaseStarts.length ? phaseStarts[phase + 1] : scenario.duration;
+            if (end <= start) {
+                continue;
+            }
+
+            final double settled = averageLimit(end - (end - start) / 4, end);
+            final double low = settled * (1 - scenario.convergenceTolerance);
+            final double high = settled * (1 + scenario.convergenceTolerance);
+
+            long convergedAt = start;
+            for (int i = 0; i < limitChanges; i++) {
+                final long segmentEnd = i + 1 < limitChanges ? limitTimes[i + 1] : end;
+                if (segmentEnd <= start || limitTimes[i] >= end) {
+                    continue;
+                }
+                if (limitValues[i] < low || limitValues[i] > high) {
+                    convergedAt = Math.min(segmentEnd, end);
+                }
+            }
+            worst = Math.max(worst, convergedAt - start);
+        }
+        return worst;
+    }
+
+    private double averageLimit(long from, long to) {
+        double weighted = 0;
+        for (int i = 0; i < limitChanges; i++) {
+            final long segmentStart = Math.max(from, limitTimes[i]);
+            final long segmentEnd = Math.min(to, i + 1 < limitChanges ? limitTimes[i + 1] : to);
+            if (segmentEnd > segmentStart) {
+                weighted += (double)limitValues[i] * (segmentEnd - segmentStart);
+            }
+        }
+        return to > from ? weighted / (to - from) : limiter.getLimit();
+    }
+}
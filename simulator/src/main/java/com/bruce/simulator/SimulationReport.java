@@ -0,0 +1,108 @@
+package com.bruce.simulator;
+
+import com.bruce.internal.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author: Bruce
+ * @Date: 2026/10/19 14:02
+ * @Version 1.0
+ */
+public final class SimulationReport {
+
+    private final String name;
+    private final long duration;
+    private final long arrivals;
+    private final long rejected;
+    private final long succeeded;
+    private final long timedOut;
+    private final LatencyHistogram latencies;
+    private final long convergenceTime;
+    private final int finalLimit;
+    private final long wallTime;
+
+    SimulationReport(String name, long duration, long arrivals, long rejected, long succeeded, long timedOut,
+                     LatencyHistogram latencies, long convergenceTime, int finalLimit, long wallTime) {
+        this.name = name;
+        this.duration = duration;
+        this.arrivals = arrivals;
+        this.rejected = rejected;
+        this.succeeded = succeeded;
+        this.timedOut = timedOut;
+        this.latencies = latencies;
+        this.convergenceTime = convergenceTime;
+        this.finalLimit = finalLimit;
+        this.wallTime = wallTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getArrivals() {
+        return arrivals;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Requests per simulated second that completed within the timeout.
+     */
+    public double getGoodput() {
+        return succeeded / (duration / 1e9);
+    }
+
+    public double getRejectRate() {
+        return arrivals == 0 ? 0 : (double)rejected / arrivals;
+    }
+
+    /**
+     * Latency of admitted requests at any percentile, to within the histogram's ~1% precision.
+     */
+    public long getLatencyPercentile(double percentile, TimeUnit units) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "Percentile must be in [0, 100]");
+        return units.convert(latencies.percentile(percentile), TimeUnit.NANOSECONDS);
+    }
+
+    public long getConvergenceTime(TimeUnit units) {
+        return units.convert(convergenceTime, TimeUnit.NANOSECONDS);
+    }
+
+    public int getFinalLimit() {
+        return finalLimit;
+    }
+
+    /**
+     * Simulated requests per second of wall time.
+     */
+    public double getSimulationRate() {
+        return wallTime == 0 ? 0 : arrivals / (wallTime / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s goodput=%9.1f/s rejected=%5.1f%% timedOut=%7d p50=%7.2f ms p90=%7.2f ms p99=%8.2f ms p999=%8.2f ms converged=%6.2f s limit=%4d (%.1fM req/s simulated)",
+                name,
+                getGoodput(),
+                getRejectRate() * 100,
+                timedOut,
+                latencies.percentile(50) / 1e6,
+                latencies.percentile(90) / 1e6,
+                latencies.percentile(99) / 1e6,
+                latencies.percentile(99.9) / 1e6,
+                convergenceTime / 1e9,
+                finalLimit,
+                getSimulationRate() / 1e6);
+    }
+}
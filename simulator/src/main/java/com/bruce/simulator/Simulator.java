@@ -0,0 +1,55 @@
+package com.bruce.simulator;
+
+import com.bruce.Limit;
+import com.bruce.limit.AimdLimit;
+import com.bruce.limit.CubicLimit;
+import com.bruce.limit.FixedLimit;
+import com.bruce.limit.Gradient2Limit;
+import com.bruce.limit.GradientLimit;
+import com.bruce.limit.VegasLimit;
+import com.bruce.limit.WindowLimit;
+import com.bruce.limiter.SimpleLimiter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the built-in limit algorithms against an overload scenario and prints a report per algorithm.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 14:15
+ * @Version 1.0
+ */
+public final class Simulator {
+
+    public static void main(String[] args) {
+        final Scenario scenario = Scenario.newBuilder()
+                .duration(120, TimeUnit.SECONDS)
+                .capacity(40)
+                .serviceTime(Distribution.logNormal(10, TimeUnit.MILLISECONDS, 0.5))
+                .arrivalRate(3000)
+                .arrivalRateAt(30, TimeUnit.SECONDS, 6000)
+                .capacityAt(60, TimeUnit.SECONDS, 20)
+                .capacityAt(90, TimeUnit.SECONDS, 40)
+                .timeout(500, TimeUnit.MILLISECONDS)
+                .build();
+
+        final Map<String, Supplier<Limit>> limits = new LinkedHashMap<>();
+        limits.put("unlimited", () -> FixedLimit.of(Integer.MAX_VALUE));
+        limits.put("fixed(40)", () -> FixedLimit.of(40));
+        limits.put("vegas", VegasLimit::newDefault);
+        limits.put("gradient", GradientLimit::newDefault);
+        limits.put("gradient2", Gradient2Limit::newDefault);
+        limits.put("window(vegas)", () -> WindowLimit.newBuilder().build(VegasLimit.newDefault()));
+        limits.put("window(gradient2)", () -> WindowLimit.newBuilder().build(Gradient2Limit.newDefault()));
+        limits.put("aimd", () -> AimdLimit.newBuilder().timeout(100, TimeUnit.MILLISECONDS).build());
+        limits.put("cubic", () -> CubicLimit.newBuilder().timeout(100, TimeUnit.MILLISECONDS).build());
+
+        limits.forEach((name, limit) -> System.out.println(Simulation.run(name, scenario,
+                clock -> SimpleLimiter.newBuilder().clock(clock).limit(limit.get()).build())));
+    }
+
+    private Simulator() {}
+}
@@ -0,0 +1,31 @@
+package com.bruce.simulator;
+
+import java.util.function.Supplier;
+
+/**
+ * Clock driven by the simulation rather than wall time.  Pass it to
+ * {@link com.bruce.limiter.AbstractLimiter.Builder#clock(Supplier)} so that RTTs are measured in simulated time.
+ *
+ * @Author: Bruce
+ * @Date: 2026/10/19 13:05
+ * @Version 1.0
+ */
+public final class VirtualClock implements Supplier<Long> {
+
+    private long now;
+
+    @Override
+    public Long get() {
+        return now;
+    }
+
+    public long nanoTime() {
+        return now;
+    }
+
+    void advanceTo(long time) {
+        if (time > now) {
+            now = time;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bruce.simulator;
+
+import com.bruce.limit.FixedLimit;
+import com.bruce.limit.Gradient2Limit;
+import com.bruce.limit.WindowLimit;
+import com.bruce.limiter.SimpleLimiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class SimulationTest {
+
+    private static final Scenario SCENARIO = Scenario.newBuilder()
+            .duration(20, TimeUnit.SECONDS)
+            .capacity(10)
+            .serviceTime(Distribution.exponential(10, TimeUnit.MILLISECONDS))
+            .arrivalRate(2000)
+            .capacityAt(10, TimeUnit.SECONDS, 5)
+            .timeout(200, TimeUnit.MILLISECONDS)
+            .build();
+
+    @Test
+    public void sameSeedProducesSameReport() {
+        SimulationReport first = runGradient2();
+        SimulationReport second = runGradient2();
+
+        Assert.assertEquals(first.getArrivals(), second.getArrivals());
+        Assert.assertEquals(first.getSucceeded(), second.getSucceeded());
+        Assert.assertEquals(first.getRejected(), second.getRejected());
+        Assert.assertEquals(first.getFinalLimit(), second.getFinalLimit());
+        Assert.assertEquals(first.getLatencyPercentile(99, TimeUnit.NANOSECONDS), second.getLatencyPercentile(99, TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void limitBoundsLatencyUnderOverload() {
+        SimulationReport unlimited = Simulation.run("unlimited", SCENARIO,
+                clock -> SimpleLimiter.newBuilder().clock(clock).limit(FixedLimit.of(Integer.MAX_VALUE)).build());
+        SimulationReport limited = Simulation.run("fixed", SCENARIO,
+                clock -> SimpleLimiter.newBuilder().clock(clock).limit(FixedLimit.of(10)).build());
+
+        Assert.assertEquals(0, unlimited.getRejected());
+        Assert.assertTrue(unlimited.getTimedOut() > 0);
+        Assert.assertTrue(limited.getGoodput() > unlimited.getGoodput());
+        Assert.assertTrue(limited.getLatencyPercentile(50, TimeUnit.MILLISECONDS) < 200);
+    }
+
+    @Test
+    public void reportsRequestedPercentile() {
+        SimulationReport report = runGradient2();
+
+        long p90 = report.getLatencyPercentile(90, TimeUnit.MICROSECONDS);
+        long p95 = report.getLatencyPercentile(95, TimeUnit.MICROSECONDS);
+        long p99 = report.getLatencyPercentile(99, TimeUnit.MICROSECONDS);
+        Assert.assertTrue(p90 < p95);
+        Assert.assertTrue(p95 < p99);
+    }
+
+    private static SimulationReport runGradient2() {
+        return Simulation.run("gradient2", SCENARIO, clock -> SimpleLimiter.newBuilder()
+                .clock(clock)
+                .limit(WindowLimit.newBuilder().build(Gradient2Limit.newDefault()))
+                .build());
+    }
+}